@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+# Нагрузочный прогон всей системы: база заполняется синтетическими данными
+# (степенное распределение владельцев, длинные истории бронирований, вещи с большим
+# числом комментариев, открытые запросы), затем шлюз нагружается смесью операций.
+# DB=h2 — файловая H2 в benchmarks/target/load, DB=postgres — локальный PostgreSQL (DB_URL, DB_USER, DB_PASSWORD).
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+
+DB=${DB:-h2}
+USERS=${USERS:-1000}
+REQUESTS=${REQUESTS:-3000}
+ITEMS=${ITEMS:-5000}
+BOOKINGS=${BOOKINGS:-100000}
+COMMENTS=${COMMENTS:-30000}
+SEED=${SEED:-42}
+CONCURRENCY=${CONCURRENCY:-32}
+WARMUP=${WARMUP:-10}
+DURATION=${DURATION:-60}
+MIX=${MIX:-"search:40,owner-items:20,owner-bookings:20,create-booking:15,approve-booking:5"}
+SERVER_PORT=${SERVER_PORT:-19090}
+GATEWAY_PORT=${GATEWAY_PORT:-18080}
+OUT=${OUT:-benchmarks/target/load}
+
+mkdir -p "$OUT"
+case "$DB" in
+  h2)
+    rm -f "$OUT"/shareit.*.db
+    DB_OPTS=(--spring.datasource.url="jdbc:h2:file:$(pwd)/$OUT/shareit"
+      --spring.datasource.driverClassName=org.h2.Driver
+      --spring.datasource.username=test --spring.datasource.password=test
+      --spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect)
+    ;;
+  postgres)
+    DB_OPTS=(--spring.datasource.url="${DB_URL:-jdbc:postgresql://localhost:5432/shareit}"
+      --spring.datasource.username="${DB_USER:-sa}" --spring.datasource.password="${DB_PASSWORD:-password}")
+    ;;
+  *)
+    echo "Неизвестная база: $DB (ожидается h2 или postgres)" >&2
+    exit 1
+    ;;
+esac
+
+mvn -B -q -pl gateway,benchmarks -am package -DskipTests
+SERVER_JAR=$(ls server/target/shareit-server-*.jar)
+GATEWAY_JAR=$(ls gateway/target/shareit-gateway-*.jar)
+LOAD_CP="$(ls benchmarks/target/shareit-benchmarks-*.jar):benchmarks/target/lib/*"
+
+java -cp "$LOAD_CP" ru.practicum.shareit.load.DataSeeder "${DB_OPTS[@]}" \
+  --shareit.load.users="$USERS" \
+  --shareit.load.requests="$REQUESTS" \
+  --shareit.load.items="$ITEMS" \
+  --shareit.load.bookings="$BOOKINGS" \
+  --shareit.load.comments="$COMMENTS" \
+  --shareit.load.seed="$SEED" \
+  --shareit.load.manifest="$OUT/manifest.json"
+
+java -jar "$SERVER_JAR" "${DB_OPTS[@]}" \
+  --server.port="$SERVER_PORT" \
+  --logging.level.root=WARN > "$OUT/server.log" 2>&1 &
+SERVER_PID=$!
+java -jar "$GATEWAY_JAR" \
+  --server.port="$GATEWAY_PORT" \
+  --shareit-server.url="http://localhost:$SERVER_PORT" \
+  --logging.level.root=WARN > "$OUT/gateway.log" 2>&1 &
+GATEWAY_PID=$!
+trap 'kill $GATEWAY_PID $SERVER_PID 2>/dev/null || true' EXIT
+
+until curl -sf "http://localhost:$SERVER_PORT/actuator/health" > /dev/null \
+  && curl -sf "http://localhost:$GATEWAY_PORT/actuator/health" > /dev/null; do
+  sleep 1
+done
+
+java -cp "$LOAD_CP" ru.practicum.shareit.load.LoadDriver \
+  --gateway="http://localhost:$GATEWAY_PORT" \
+  --manifest="$OUT/manifest.json" \
+  --concurrency="$CONCURRENCY" \
+  --warmup="$WARMUP" \
+  --duration="$DURATION" \
+  --mix="$MIX" \
+  --report="$OUT/report.json"
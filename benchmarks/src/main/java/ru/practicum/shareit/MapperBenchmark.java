@@ -0,0 +1,66 @@
+package ru.practicum.shareit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.ItemNearestBooking;
+import ru.practicum.shareit.booking.SavedBookingDto;
+import ru.practicum.shareit.item.*;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"20", "1000"})
+    private int size;
+
+    private List<Item> items;
+    private List<Comment> comments;
+    private List<Booking> bookings;
+    private List<ItemNearestBooking> nearestBookings;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(42, true);
+        List<User> users = data.users(100);
+        items = data.items(size, users);
+        comments = data.comments(size, items, users);
+        bookings = data.bookings(size, items, users);
+        nearestBookings = data.nearestBookings(items, users);
+    }
+
+    @Benchmark
+    public List<ItemDto> itemMapperToItemDtoList() {
+        return ItemMapper.toItemDtoList(items);
+    }
+
+    @Benchmark
+    public List<ItemForItemRequestDto> itemMapperToItemForItemRequestDtoList() {
+        return ItemMapper.toItemForItemRequestDtoList(items);
+    }
+
+    @Benchmark
+    public List<CommentDto> commentMapperToCommentDtoList() {
+        return CommentMapper.toCommentDtoList(comments);
+    }
+
+    @Benchmark
+    public List<SavedBookingDto> bookingMapperToSavedBookingDtoList() {
+        return BookingMapper.toSavedBookingDtoList(bookings);
+    }
+
+    @Benchmark
+    public void bookingMapperToBookingItemDto(Blackhole blackhole) {
+        for (ItemNearestBooking booking : nearestBookings) {
+            blackhole.consume(BookingMapper.toBookingItemDto(booking));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemNearestBooking;
+import ru.practicum.shareit.item.Comment;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class SyntheticData {
+    public static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private final Random random;
+    private final boolean assignIds;
+    private long nextId = 1;
+
+    public SyntheticData(long seed, boolean assignIds) {
+        this.random = new Random(seed);
+        this.assignIds = assignIds;
+    }
+
+    public List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder().id(id()).name("Пользователь " + i).email("user" + i + "@mail.com").build());
+        }
+        return users;
+    }
+
+    public List<Item> items(int count, List<User> owners) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(Item.builder().id(id()).name("Вещь " + i).description("Описание вещи " + i)
+                    .available(random.nextInt(10) > 0).owner(pick(owners)).build());
+        }
+        return items;
+    }
+
+    public List<Comment> comments(int count, List<Item> items, List<User> authors) {
+        List<Comment> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            comments.add(Comment.builder().id(id()).text("Комментарий " + i).item(pick(items)).author(pick(authors))
+                    .created(NOW.minusHours(random.nextInt(24 * 365))).build());
+        }
+        return comments;
+    }
+
+    public List<Booking> bookings(int count, List<Item> items, List<User> bookers) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = NOW.plusHours(random.nextInt(24 * 365 * 2) - 24 * 365);
+            bookings.add(Booking.builder().id(id()).start(start).end(start.plusHours(1 + random.nextInt(24 * 7)))
+                    .item(pick(items)).booker(pick(bookers)).status(STATUSES[random.nextInt(STATUSES.length)])
+                    .build());
+        }
+        return bookings;
+    }
+
+    public List<ItemNearestBooking> nearestBookings(List<Item> items, List<User> bookers) {
+        List<ItemNearestBooking> nearestBookings = new ArrayList<>(items.size() * 2);
+        for (Item item : items) {
+            nearestBookings.add(new NearestBooking(item.getId(), id(), pick(bookers).getId(),
+                    NOW.minusHours(1 + random.nextInt(24 * 30)), ItemNearestBooking.LAST));
+            nearestBookings.add(new NearestBooking(item.getId(), id(), pick(bookers).getId(),
+                    NOW.plusHours(1 + random.nextInt(24 * 30)), ItemNearestBooking.NEXT));
+        }
+        return nearestBookings;
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private long id() {
+        return assignIds ? nextId++ : 0;
+    }
+
+    private static class NearestBooking implements ItemNearestBooking {
+        private final Long itemId;
+        private final Long id;
+        private final Long bookerId;
+        private final LocalDateTime start;
+        private final String kind;
+
+        private NearestBooking(Long itemId, Long id, Long bookerId, LocalDateTime start, String kind) {
+            this.itemId = itemId;
+            this.id = id;
+            this.bookerId = bookerId;
+            this.start = start;
+            this.kind = kind;
+        }
+
+        @Override
+        public Long getItemId() {
+            return itemId;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getBookerId() {
+            return bookerId;
+        }
+
+        @Override
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        @Override
+        public String getKind() {
+            return kind;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.SyntheticData;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingRepositoryBenchmark {
+    private static final LocalDateTime NOW = SyntheticData.NOW;
+    private static final LocalDateTime LATEST = PageCursor.MAX_TIMESTAMP;
+    private static final List<BookingStatus> CURRENT_STATUSES = List.of(BookingStatus.APPROVED,
+            BookingStatus.REJECTED);
+
+    @Param({"200"})
+    private int usersCount;
+
+    @Param({"2000"})
+    private int itemsCount;
+
+    @Param({"20000"})
+    private int bookingsCount;
+
+    private ConfigurableApplicationContext context;
+    private BookingRepository bookingRepository;
+    private final Pageable page = OffsetPageRequest.of(0, 20);
+    private long bookerId;
+    private long ownerId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "shareit.booking-summary.reconcile-initial-delay=86400000")
+                .run();
+        SyntheticData data = new SyntheticData(42, false);
+        List<User> users = context.getBean(UserRepository.class).saveAll(data.users(usersCount));
+        List<Item> items = context.getBean(ItemRepository.class).saveAll(data.items(itemsCount, users));
+        bookingRepository = context.getBean(BookingRepository.class);
+        bookingRepository.saveAll(data.bookings(bookingsCount, items, users));
+        bookerId = users.get(0).getId();
+        ownerId = items.get(0).getOwner().getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Booking> bookerAll() {
+        return bookingRepository.findAllByBookerIdOrderByEndDesc(page, bookerId, LATEST, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Booking> bookerCurrent() {
+        return bookingRepository.findCurrentBookingsOfUser(page, bookerId, CURRENT_STATUSES, NOW, LATEST,
+                Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Booking> bookerPast() {
+        return bookingRepository.findPastBookingsOfUser(page, bookerId, NOW, LATEST, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Booking> bookerFuture() {
+        return bookingRepository.findFutureBookingsOfUser(page, bookerId, NOW, LATEST, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Booking> bookerWaiting() {
+        return bookingRepository.findWaitingOrRejectedBookingsOfUser(page, bookerId, BookingStatus.WAITING, LATEST,
+                Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Booking> ownerAll() {
+        return bookingRepository.findAllBookingsOfItemsOwner(page, ownerId, LATEST, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Booking> ownerCurrent() {
+        return bookingRepository.findCurrentBookingsOfItemsOwner(page, ownerId, CURRENT_STATUSES, NOW, LATEST,
+                Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Booking> ownerPast() {
+        return bookingRepository.findPastBookingsOfItemsOwner(page, ownerId, NOW, LATEST, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Booking> ownerFuture() {
+        return bookingRepository.findFutureBookingsOfItemsOwner(page, ownerId, NOW, LATEST, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Booking> ownerWaiting() {
+        return bookingRepository.findWaitingOrRejectedBookingsOfItemsOwner(page, ownerId, BookingStatus.WAITING,
+                LATEST, Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.pagination.CursorPage;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemSearchIndexBenchmark {
+    private static final int VOCABULARY_SIZE = 10000;
+    private static final int MATCHING_ITEMS = 50;
+    private static final long PAGE_SIZE = 20;
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    private int itemsCount;
+
+    private ItemSearchIndex itemSearchIndex;
+
+    @Setup
+    public void setUp() {
+        itemSearchIndex = new ItemSearchIndex(null);
+        Random random = new Random(42);
+        long matchingEvery = itemsCount / MATCHING_ITEMS;
+        for (long id = 1; id <= itemsCount; id++) {
+            String name = id % matchingEvery == 0
+                    ? "Перфоратор " + word(random)
+                    : "Вещь " + word(random);
+            itemSearchIndex.index(Item.builder().id(id).name(name).description("Описание " + word(random) + " "
+                    + word(random)).available(true).build());
+        }
+    }
+
+    @Benchmark
+    public CursorPage<Long> searchToken() {
+        return itemSearchIndex.search("перфоратор", 0, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public CursorPage<Long> searchPrefix() {
+        return itemSearchIndex.search("перф", 0, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public CursorPage<Long> searchSubstring() {
+        return itemSearchIndex.searchSubstring("рфорат", 0, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public CursorPage<Long> searchMissing() {
+        return itemSearchIndex.search("экскаватор", 0, PAGE_SIZE, null);
+    }
+
+    private static String word(Random random) {
+        return "w" + Integer.toString(random.nextInt(VOCABULARY_SIZE), Character.MAX_RADIX);
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.SyntheticData;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemServiceImplBenchmark {
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    @Param({"20", "1000"})
+    private int itemsCount;
+
+    @Param({"10"})
+    private int commentsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private ItemServiceImpl itemService;
+    private List<ItemDto> itemsDto;
+    private List<Long> itemsIds;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:item-service-benchmark",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "shareit.booking-summary.reconcile-initial-delay=86400000",
+                        "shareit.booking-summary.reconcile-batch-size=" + RECONCILE_BATCH_SIZE)
+                .run();
+        SyntheticData data = new SyntheticData(42, false);
+        List<User> users = context.getBean(UserRepository.class).saveAll(data.users(100));
+        List<Item> items = context.getBean(ItemRepository.class).saveAll(data.items(itemsCount, users));
+        context.getBean(CommentRepository.class).saveAll(data.comments(itemsCount * commentsPerItem, items, users));
+        context.getBean(BookingRepository.class).saveAll(data.bookings(itemsCount * 2, items, users));
+        ItemBookingSummaryService itemBookingSummaryService = context.getBean(ItemBookingSummaryService.class);
+        for (int i = 0; i < itemsCount; i += RECONCILE_BATCH_SIZE) {
+            itemBookingSummaryService.reconcile();
+        }
+
+        itemService = context.getBean(ItemServiceImpl.class);
+        itemsDto = ItemMapper.toItemDtoList(items);
+        itemsIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> findAndAttachCommentsToItemsDto() {
+        return itemService.findAndAttachCommentsToItemsDto(itemsDto, itemsIds);
+    }
+
+    @Benchmark
+    public List<ItemDto> finaAndAttachNearestBookingsToItemsDto() {
+        return itemService.finaAndAttachNearestBookingsToItemsDto(itemsDto, itemsIds);
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class DataSeeder {
+    private static final int CHUNK_SIZE = 1000;
+
+    public static void main(String[] args) throws IOException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "shareit.booking-summary.reconcile-initial-delay=86400000")
+                .run(args)) {
+            Environment env = context.getEnvironment();
+            int usersCount = env.getProperty("shareit.load.users", Integer.class, 1000);
+            int requestsCount = env.getProperty("shareit.load.requests", Integer.class, 3000);
+            int itemsCount = env.getProperty("shareit.load.items", Integer.class, 5000);
+            int bookingsCount = env.getProperty("shareit.load.bookings", Integer.class, 100000);
+            int commentsCount = env.getProperty("shareit.load.comments", Integer.class, 30000);
+            File manifestFile = new File(env.getProperty("shareit.load.manifest", "target/load/manifest.json"));
+            LoadDataGenerator generator = new LoadDataGenerator(env.getProperty("shareit.load.seed", Long.class, 42L),
+                    env.getProperty("shareit.load.zipf-exponent", Double.class, 1.1));
+
+            UserRepository userRepository = context.getBean(UserRepository.class);
+            if (userRepository.count() > 0) {
+                throw new IllegalStateException("База данных не пуста, заполнение возможно только в пустую базу");
+            }
+            long started = System.nanoTime();
+
+            List<User> users = saveInChunks(userRepository, generator.users(usersCount));
+            List<ItemRequest> requests = saveInChunks(context.getBean(ItemRequestRepository.class),
+                    generator.requests(requestsCount, users));
+            List<Item> items = saveInChunks(context.getBean(ItemRepository.class),
+                    generator.items(itemsCount, users, requests));
+            System.out.printf("Пользователей: %d, запросов: %d, вещей: %d%n", users.size(), requests.size(),
+                    items.size());
+
+            BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+            int[] bookingsPerItem = generator.bookingsPerItem(bookingsCount, items.size());
+            List<Booking> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = 0; i < items.size(); i++) {
+                chunk.addAll(generator.history(items.get(i), bookingsPerItem[i], users));
+                if (chunk.size() >= CHUNK_SIZE) {
+                    bookingRepository.saveAll(chunk);
+                    chunk.clear();
+                }
+            }
+            bookingRepository.saveAll(chunk);
+            System.out.printf("Бронирований: %d, самая длинная история: %d%n", bookingsCount,
+                    bookingsPerItem.length == 0 ? 0 : bookingsPerItem[0]);
+
+            saveInChunks(context.getBean(CommentRepository.class), generator.comments(commentsCount, items, users));
+            System.out.printf("Комментариев: %d%n", commentsCount);
+
+            ItemBookingSummaryService itemBookingSummaryService = context.getBean(ItemBookingSummaryService.class);
+            ItemBookingSummaryRepository itemBookingSummaryRepository =
+                    context.getBean(ItemBookingSummaryRepository.class);
+            while (!itemBookingSummaryRepository.findItemsIdsWithoutSummary(PageRequest.of(0, 1)).isEmpty()) {
+                itemBookingSummaryService.reconcile();
+            }
+
+            SeedManifest manifest = new SeedManifest(
+                    users.stream().map(User::getId).collect(Collectors.toList()),
+                    items.stream()
+                            .map(item -> new SeedManifest.SeedItem(item.getId(), item.getOwner().getId(),
+                                    item.getAvailable()))
+                            .collect(Collectors.toList()),
+                    LoadDataGenerator.NOUNS.stream().map(String::toLowerCase).collect(Collectors.toList()));
+            manifestFile.getAbsoluteFile().getParentFile().mkdirs();
+            context.getBean(ObjectMapper.class).writeValue(manifestFile, manifest);
+            System.out.printf("Данные заполнены за %.1f с, манифест: %s%n", (System.nanoTime() - started) / 1e9,
+                    manifestFile);
+        }
+    }
+
+    private static <T> List<T> saveInChunks(JpaRepository<T, Long> repository, List<T> entities) {
+        List<T> saved = new ArrayList<>(entities.size());
+        for (int from = 0; from < entities.size(); from += CHUNK_SIZE) {
+            saved.addAll(repository.saveAll(entities.subList(from, Math.min(from + CHUNK_SIZE, entities.size()))));
+        }
+        return saved;
+    }
+}
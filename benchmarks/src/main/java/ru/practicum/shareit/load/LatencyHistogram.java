@@ -0,0 +1,70 @@
+package ru.practicum.shareit.load;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram {
+    private static final int SUB_BUCKETS = 16;
+    private static final int MAGNITUDES = 40;
+
+    private final AtomicLongArray counts = new AtomicLongArray(MAGNITUDES * SUB_BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long micros = Math.max(1, nanos / 1000);
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (((micros - (1L << magnitude)) * SUB_BUCKETS) >> magnitude);
+        counts.incrementAndGet(Math.min(magnitude * SUB_BUCKETS + subBucket, counts.length() - 1));
+        total.incrementAndGet();
+        max.accumulateAndGet(micros, Math::max);
+    }
+
+    public long count() {
+        return total.get();
+    }
+
+    public double maxMillis() {
+        return max.get() / 1000.0;
+    }
+
+    public double percentileMillis(double percentile) {
+        long count = total.get();
+        if (count == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(percentile * count);
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBoundMicros(i), max.get()) / 1000.0;
+            }
+        }
+        return maxMillis();
+    }
+
+    public List<Map<String, Object>> buckets() {
+        List<Map<String, Object>> buckets = new ArrayList<>();
+        for (int i = 0; i < counts.length(); i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                Map<String, Object> bucket = new LinkedHashMap<>();
+                bucket.put("upToMs", upperBoundMicros(i) / 1000.0);
+                bucket.put("count", count);
+                buckets.add(bucket);
+            }
+        }
+        return buckets;
+    }
+
+    private static long upperBoundMicros(int index) {
+        int magnitude = index / SUB_BUCKETS;
+        int subBucket = index % SUB_BUCKETS;
+        return (1L << magnitude) + (((subBucket + 1L) << magnitude) / SUB_BUCKETS);
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.load;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.Comment;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class LoadDataGenerator {
+    public static final List<String> NOUNS = List.of("Дрель", "Перфоратор", "Палатка", "Велосипед", "Лестница",
+            "Шуруповерт", "Пила", "Фотоаппарат", "Проектор", "Самокат", "Гитара", "Сапборд", "Спальник",
+            "Котелок", "Штатив", "Болгарка", "Лобзик", "Компрессор", "Мойка", "Генератор");
+    private static final List<String> ADJECTIVES = List.of("аккумуляторная", "ударная", "складная",
+            "туристическая", "профессиональная", "детская", "электрическая", "компактная", "большая", "легкая");
+    private static final double ANSWERED_REQUESTS_SHARE = 0.2;
+    private static final double ITEMS_FOR_REQUESTS_SHARE = 0.1;
+    private static final double FUTURE_BOOKINGS_SHARE = 0.1;
+
+    private final Random random;
+    private final double exponent;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+
+    public LoadDataGenerator(long seed, double exponent) {
+        this.random = new Random(seed);
+        this.exponent = exponent;
+    }
+
+    public List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder().name("Пользователь " + i).email("load" + i + "@shareit.local").build());
+        }
+        return users;
+    }
+
+    public List<ItemRequest> requests(int count, List<User> requestors) {
+        List<ItemRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(ItemRequest.builder().description("Нужна " + pick(ADJECTIVES) + " " + pick(NOUNS).toLowerCase())
+                    .created(now.minusMinutes(random.nextInt(60 * 24 * 365))).requestor(pick(requestors)).build());
+        }
+        return requests;
+    }
+
+    public List<Item> items(int count, List<User> owners, List<ItemRequest> requests) {
+        ZipfDistribution ownership = new ZipfDistribution(owners.size(), exponent);
+        List<ItemRequest> answeredRequests = requests.subList(0, (int) (requests.size() * ANSWERED_REQUESTS_SHARE));
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String noun = pick(NOUNS);
+            String adjective = pick(ADJECTIVES);
+            ItemRequest request = !answeredRequests.isEmpty() && random.nextDouble() < ITEMS_FOR_REQUESTS_SHARE
+                    ? pick(answeredRequests) : null;
+            items.add(Item.builder().name(noun + " " + adjective)
+                    .description(adjective + " " + noun.toLowerCase() + ", экземпляр " + i)
+                    .available(random.nextInt(10) > 0).owner(owners.get(ownership.sample(random))).request(request)
+                    .build());
+        }
+        return items;
+    }
+
+    public int[] bookingsPerItem(int total, int itemsCount) {
+        ZipfDistribution popularity = new ZipfDistribution(itemsCount, exponent);
+        int[] counts = new int[itemsCount];
+        for (int i = 0; i < total; i++) {
+            counts[popularity.sample(random)]++;
+        }
+        return counts;
+    }
+
+    public List<Booking> history(Item item, int count, List<User> bookers) {
+        List<Booking> bookings = new ArrayList<>(count);
+        int futureCount = (int) Math.round(count * FUTURE_BOOKINGS_SHARE);
+
+        LocalDateTime cursor = now.minusHours(random.nextInt(48));
+        for (int i = futureCount; i < count; i++) {
+            LocalDateTime end = cursor;
+            LocalDateTime start = end.minusHours(1 + random.nextInt(72));
+            int roll = random.nextInt(10);
+            BookingStatus status = roll < 8 ? BookingStatus.APPROVED
+                    : roll == 8 ? BookingStatus.REJECTED : BookingStatus.CANCELED;
+            bookings.add(booking(item, start, end, status, bookers));
+            cursor = start.minusHours(random.nextInt(120));
+        }
+
+        cursor = now.plusHours(1 + random.nextInt(48));
+        for (int i = 0; i < futureCount; i++) {
+            LocalDateTime start = cursor;
+            LocalDateTime end = start.plusHours(1 + random.nextInt(72));
+            bookings.add(booking(item, start, end,
+                    random.nextBoolean() ? BookingStatus.APPROVED : BookingStatus.WAITING, bookers));
+            cursor = end.plusHours(random.nextInt(120));
+        }
+        return bookings;
+    }
+
+    public List<Comment> comments(int count, List<Item> items, List<User> authors) {
+        ZipfDistribution popularity = new ZipfDistribution(items.size(), exponent);
+        List<Comment> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            comments.add(Comment.builder().text("Отзыв " + i + ": " + pick(ADJECTIVES) + ", все понравилось")
+                    .item(items.get(popularity.sample(random))).author(pick(authors))
+                    .created(now.minusMinutes(random.nextInt(60 * 24 * 365))).build());
+        }
+        return comments;
+    }
+
+    private Booking booking(Item item, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                            List<User> bookers) {
+        User booker = pick(bookers);
+        while (booker.getId() == item.getOwner().getId() && bookers.size() > 1) {
+            booker = pick(bookers);
+        }
+        return Booking.builder().item(item).booker(booker).start(start).end(end).status(status).build();
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
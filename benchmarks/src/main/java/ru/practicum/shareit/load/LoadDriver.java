@@ -0,0 +1,271 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+public class LoadDriver {
+    private static final String DEFAULT_MIX = "search:40,owner-items:20,owner-bookings:20,create-booking:15," +
+            "approve-booking:5";
+    private static final List<String> BOOKING_STATES = List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING");
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String gateway;
+    private final SeedManifest manifest;
+    private final List<SeedManifest.SeedItem> availableItems;
+    private final LoadOperation[] weightedOperations;
+    private final Map<LoadOperation, EndpointStats> stats = new EnumMap<>(LoadOperation.class);
+    private final Queue<long[]> pendingApprovals = new ConcurrentLinkedQueue<>();
+    private volatile long measureFrom;
+
+    public LoadDriver(String gateway, SeedManifest manifest, Map<LoadOperation, Integer> mix) {
+        this.gateway = gateway;
+        this.manifest = manifest;
+        this.availableItems = manifest.getItems().stream()
+                .filter(SeedManifest.SeedItem::isAvailable)
+                .collect(Collectors.toList());
+        List<LoadOperation> operations = new ArrayList<>();
+        mix.forEach((operation, weight) -> operations.addAll(Collections.nCopies(weight, operation)));
+        this.weightedOperations = operations.toArray(new LoadOperation[0]);
+        for (LoadOperation operation : LoadOperation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--") && arg.contains("="))
+                .collect(Collectors.toMap(arg -> arg.substring(2, arg.indexOf('=')),
+                        arg -> arg.substring(arg.indexOf('=') + 1)));
+        String gateway = options.getOrDefault("gateway", "http://localhost:8080");
+        File manifestFile = new File(options.getOrDefault("manifest", "target/load/manifest.json"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        Map<LoadOperation, Integer> mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+        File reportFile = new File(options.getOrDefault("report", "target/load/report.json"));
+
+        SeedManifest manifest = new ObjectMapper().readValue(manifestFile, SeedManifest.class);
+        LoadDriver driver = new LoadDriver(gateway, manifest, mix);
+        driver.run(concurrency, warmup, duration);
+        driver.report(concurrency, duration, mix, reportFile);
+        System.exit(0);
+    }
+
+    public void run(int concurrency, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        long started = System.nanoTime();
+        measureFrom = started + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        System.out.printf("Прогрев %d с, замер %d с, параллельных клиентов: %d%n", warmupSeconds, durationSeconds,
+                concurrency);
+
+        List<Thread> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread worker = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    LoadOperation operation = weightedOperations[
+                            ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+                    execute(operation);
+                }
+            }, "load-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private void execute(LoadOperation operation) {
+        Random random = ThreadLocalRandom.current();
+        switch (operation) {
+            case SEARCH:
+                String term = manifest.getSearchTerms().get(random.nextInt(manifest.getSearchTerms().size()));
+                send(operation, get("/items/search?from=0&size=20&text=" +
+                        URLEncoder.encode(term.substring(0, Math.max(3, term.length() - random.nextInt(3))),
+                                StandardCharsets.UTF_8), null));
+                break;
+            case OWNER_ITEMS:
+                send(operation, get("/items?from=0&size=20", randomItem(random).getOwnerId()));
+                break;
+            case OWNER_BOOKINGS:
+                send(operation, get("/bookings/owner?from=0&size=20&state=" +
+                        BOOKING_STATES.get(random.nextInt(BOOKING_STATES.size())), randomItem(random).getOwnerId()));
+                break;
+            case CREATE_BOOKING:
+                createBooking(random);
+                break;
+            case APPROVE_BOOKING:
+                long[] pending = pendingApprovals.poll();
+                if (pending == null) {
+                    if (System.nanoTime() >= measureFrom) {
+                        stats.get(operation).skipped.incrementAndGet();
+                    }
+                    break;
+                }
+                send(operation, HttpRequest.newBuilder(URI.create(gateway + "/bookings/" + pending[0] + "?approved=true"))
+                        .header(USER_HEADER, String.valueOf(pending[1]))
+                        .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+                break;
+            default:
+                throw new IllegalArgumentException("Неизвестная операция: " + operation);
+        }
+    }
+
+    private void createBooking(Random random) {
+        SeedManifest.SeedItem item = availableItems.get(random.nextInt(availableItems.size()));
+        long bookerId = manifest.getUsers().get(random.nextInt(manifest.getUsers().size()));
+        if (bookerId == item.getOwnerId()) {
+            return;
+        }
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES)
+                .plusDays(1 + random.nextInt(365)).plusHours(random.nextInt(24));
+        Map<String, Object> body = Map.of("itemId", item.getId(),
+                "start", start.toString(),
+                "end", start.plusHours(1 + random.nextInt(48)).toString());
+        HttpResponse<String> response;
+        try {
+            response = send(LoadOperation.CREATE_BOOKING, HttpRequest.newBuilder(URI.create(gateway + "/bookings"))
+                    .header(USER_HEADER, String.valueOf(bookerId))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body))));
+            if (response != null && response.statusCode() / 100 == 2) {
+                JsonNode booking = mapper.readTree(response.body());
+                pendingApprovals.add(new long[]{booking.get("id").asLong(), item.getOwnerId()});
+            }
+        } catch (IOException e) {
+            if (System.nanoTime() >= measureFrom) {
+                stats.get(LoadOperation.CREATE_BOOKING).errors.incrementAndGet();
+            }
+        }
+    }
+
+    private SeedManifest.SeedItem randomItem(Random random) {
+        return manifest.getItems().get(random.nextInt(manifest.getItems().size()));
+    }
+
+    private HttpRequest.Builder get(String path, Long userId) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(gateway + path)).GET();
+        if (userId != null) {
+            request.header(USER_HEADER, String.valueOf(userId));
+        }
+        return request;
+    }
+
+    private HttpResponse<String> send(LoadOperation operation, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        boolean measured = start >= measureFrom;
+        EndpointStats endpointStats = stats.get(operation);
+        try {
+            HttpResponse<String> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (measured) {
+                endpointStats.histogram.record(System.nanoTime() - start);
+                if (response.statusCode() / 100 == 2) {
+                    endpointStats.ok.incrementAndGet();
+                } else if (response.statusCode() == 409) {
+                    endpointStats.conflicts.incrementAndGet();
+                } else {
+                    endpointStats.errors.incrementAndGet();
+                }
+            }
+            return response;
+        } catch (IOException e) {
+            if (measured) {
+                endpointStats.errors.incrementAndGet();
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void report(int concurrency, int durationSeconds, Map<LoadOperation, Integer> mix, File reportFile)
+            throws IOException {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%-16s %9s %9s %7s %7s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "rps", "409",
+                "errors", "skipped", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<LoadOperation, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            LatencyHistogram histogram = endpointStats.histogram;
+            if (histogram.count() == 0 && endpointStats.skipped.get() == 0) {
+                continue;
+            }
+            double throughput = histogram.count() / (double) durationSeconds;
+            System.out.printf("%-16s %9d %9.1f %7d %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", entry.getKey().getKey(),
+                    histogram.count(), throughput, endpointStats.conflicts.get(), endpointStats.errors.get(),
+                    endpointStats.skipped.get(), histogram.percentileMillis(0.5), histogram.percentileMillis(0.9),
+                    histogram.percentileMillis(0.99), histogram.percentileMillis(0.999), histogram.maxMillis());
+
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("requests", histogram.count());
+            endpoint.put("throughputRps", throughput);
+            endpoint.put("ok", endpointStats.ok.get());
+            endpoint.put("conflicts", endpointStats.conflicts.get());
+            endpoint.put("errors", endpointStats.errors.get());
+            endpoint.put("skipped", endpointStats.skipped.get());
+            endpoint.put("p50Ms", histogram.percentileMillis(0.5));
+            endpoint.put("p90Ms", histogram.percentileMillis(0.9));
+            endpoint.put("p99Ms", histogram.percentileMillis(0.99));
+            endpoint.put("p999Ms", histogram.percentileMillis(0.999));
+            endpoint.put("maxMs", histogram.maxMillis());
+            endpoint.put("histogram", histogram.buckets());
+            endpoints.put(entry.getKey().getKey(), endpoint);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("gateway", gateway);
+        report.put("concurrency", concurrency);
+        report.put("durationSeconds", durationSeconds);
+        report.put("mix", mix.entrySet().stream()
+                .collect(Collectors.toMap(e -> e.getKey().getKey(), Map.Entry::getValue, (a, b) -> a,
+                        LinkedHashMap::new)));
+        report.put("endpoints", endpoints);
+        reportFile.getAbsoluteFile().getParentFile().mkdirs();
+        mapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile, report);
+        System.out.println("Отчет сохранен: " + reportFile);
+    }
+
+    private static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String part : mix.split(",")) {
+            String[] keyAndWeight = part.trim().split(":");
+            LoadOperation operation = LoadOperation.from(keyAndWeight[0])
+                    .orElseThrow(() -> new IllegalArgumentException("Неизвестная операция: " + keyAndWeight[0]));
+            weights.put(operation, Integer.parseInt(keyAndWeight[1]));
+        }
+        return weights;
+    }
+
+    private static class EndpointStats {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final AtomicLong ok = new AtomicLong();
+        private final AtomicLong conflicts = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.load;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum LoadOperation {
+    SEARCH("search"),
+    OWNER_ITEMS("owner-items"),
+    OWNER_BOOKINGS("owner-bookings"),
+    CREATE_BOOKING("create-booking"),
+    APPROVE_BOOKING("approve-booking");
+
+    private final String key;
+
+    LoadOperation(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static Optional<LoadOperation> from(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst();
+    }
+}
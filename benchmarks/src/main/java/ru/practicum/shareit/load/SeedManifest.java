@@ -0,0 +1,25 @@
+package ru.practicum.shareit.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SeedManifest {
+    private List<Long> users;
+    private List<SeedItem> items;
+    private List<String> searchTerms;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SeedItem {
+        private long id;
+        private long ownerId;
+        private boolean available;
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.threads;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public final class VirtualThreads {
+    private VirtualThreads() {
+    }
+
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Виртуальные потоки недоступны в Java " + Runtime.version().feature()
+                    + ", для shareit.threads.mode=VIRTUAL нужна Java 21+", e);
+        }
+    }
+}
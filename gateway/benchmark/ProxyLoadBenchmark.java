@@ -0,0 +1,113 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ProxyLoadBenchmark {
+    private static final byte[] STUB_BODY = "[]".getBytes(StandardCharsets.UTF_8);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("stub")) {
+            runStub(Integer.parseInt(args[1]), Long.parseLong(args[2]));
+        } else if (args.length > 0 && args[0].equals("load")) {
+            runLoad(URI.create(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]), args[4]);
+        } else {
+            System.err.println("Использование: stub <port> <delayMs> | load <url> <concurrency> <seconds> <label>");
+            System.exit(1);
+        }
+    }
+
+    private static void runStub(int port, long delayMs) throws IOException {
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 4096);
+        server.createContext("/", exchange -> scheduler.schedule(() -> respond(exchange), delayMs, TimeUnit.MILLISECONDS));
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        System.out.println("Заглушка сервера слушает порт " + port + ", задержка ответа " + delayMs + " мс");
+    }
+
+    private static void respond(HttpExchange exchange) {
+        try (exchange) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, STUB_BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(STUB_BODY);
+            }
+        } catch (IOException e) {
+            System.err.println("Ошибка ответа заглушки: " + e.getMessage());
+        }
+    }
+
+    private static void runLoad(URI uri, int concurrency, int seconds, String label) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(8))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("X-Sharer-User-Id", "1")
+                .timeout(Duration.ofSeconds(30))
+                .build();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long[] latencies = new long[1 << 22];
+        AtomicInteger completed = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch workers = new CountDownLatch(concurrency);
+        long started = System.nanoTime();
+
+        for (int i = 0; i < concurrency; i++) {
+            sendNext(client, request, deadline, latencies, completed, errors, workers);
+        }
+        workers.await();
+
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        int count = Math.min(completed.get(), latencies.length);
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        System.out.printf("%-9s concurrency=%d requests=%d errors=%d throughput=%.0f rps p50=%.1f ms p99=%.1f ms%n",
+                label, concurrency, count, errors.get(), count / elapsedSeconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99));
+        System.exit(0);
+    }
+
+    private static void sendNext(HttpClient client, HttpRequest request, long deadline, long[] latencies,
+                                 AtomicInteger completed, AtomicLong errors, CountDownLatch workers) {
+        if (System.nanoTime() >= deadline) {
+            workers.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error != null || response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                    } else {
+                        int index = completed.getAndIncrement();
+                        if (index < latencies.length) {
+                            latencies[index] = System.nanoTime() - start;
+                        }
+                    }
+                    sendNext(client, request, deadline, latencies, completed, errors, workers);
+                });
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * (sorted.length - 1)))] / 1e6;
+    }
+}
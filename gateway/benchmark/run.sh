@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# Сравнивает пропускную способность шлюза в режимах BLOCKING, REACTIVE и VIRTUAL
+# (RestTemplate на виртуальных потоках, требуется Java 21+: JAVA=/path/to/jdk-21/bin/java).
+# Вместо shareit-server используется заглушка с фиксированной задержкой ответа.
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+
+CONCURRENCY=${CONCURRENCY:-200}
+DURATION=${DURATION:-20}
+DELAY_MS=${DELAY_MS:-500}
+TOMCAT_THREADS=${TOMCAT_THREADS:-20}
+GATEWAY_PORT=${GATEWAY_PORT:-18080}
+STUB_PORT=${STUB_PORT:-19090}
+MODES=${MODES:-"BLOCKING REACTIVE VIRTUAL"}
+JAVA=${JAVA:-java}
+
+JAVA_FEATURE=$("$JAVA" -XshowSettings:properties -version 2>&1 | sed -n 's/^ *java.specification.version = //p')
+if [[ " $MODES " == *" VIRTUAL "* && "$JAVA_FEATURE" -lt 21 ]]; then
+  echo "Режим VIRTUAL требует Java 21+, а $JAVA — Java $JAVA_FEATURE; задайте JAVA или уберите VIRTUAL из MODES" >&2
+  exit 1
+fi
+
+mvn -B -q -pl gateway -am package -DskipTests
+GATEWAY_JAR=$(ls gateway/target/shareit-gateway-*.jar)
+
+"$JAVA" gateway/benchmark/ProxyLoadBenchmark.java stub "$STUB_PORT" "$DELAY_MS" &
+STUB_PID=$!
+trap 'kill $STUB_PID 2>/dev/null || true' EXIT
+
+echo "Java: $("$JAVA" -version 2>&1 | head -1)"
+
+for MODE in $MODES; do
+  CLIENT_MODE=$MODE
+  THREADS_MODE=PLATFORM
+  if [ "$MODE" = "VIRTUAL" ]; then
+    CLIENT_MODE=BLOCKING
+    THREADS_MODE=VIRTUAL
+  fi
+
+  "$JAVA" -jar "$GATEWAY_JAR" \
+    --server.port="$GATEWAY_PORT" \
+    --server.tomcat.threads.max="$TOMCAT_THREADS" \
+    --shareit-server.url="http://localhost:$STUB_PORT" \
+    --shareit-server.client-mode="$CLIENT_MODE" \
+    --shareit.threads.mode="$THREADS_MODE" \
+    --shareit-server.http.max-total=2000 \
+    --shareit-server.http.max-per-route=2000 \
+    --logging.level.root=WARN \
+    --logging.level.org.springframework.web.client.RestTemplate=WARN > /dev/null &
+  GATEWAY_PID=$!
+
+  until curl -sf "http://localhost:$GATEWAY_PORT/actuator/health" > /dev/null; do
+    if ! kill -0 "$GATEWAY_PID" 2>/dev/null; then
+      echo "Шлюз в режиме $MODE не запустился" >&2
+      exit 1
+    fi
+    sleep 1
+  done
+
+  "$JAVA" gateway/benchmark/ProxyLoadBenchmark.java load "http://localhost:$GATEWAY_PORT/users" \
+    "$CONCURRENCY" 3 warmup > /dev/null
+  "$JAVA" gateway/benchmark/ProxyLoadBenchmark.java load "http://localhost:$GATEWAY_PORT/users" \
+    "$CONCURRENCY" "$DURATION" "$MODE"
+
+  kill "$GATEWAY_PID"
+  wait "$GATEWAY_PID" 2>/dev/null || true
+done
@@ -1,56 +1,103 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientMode;
+import ru.practicum.shareit.client.ResponseCache;
 
+import java.io.IOException;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static String API_PREFIX = "/bookings";
 
+    private final ResponseCache responseCache;
+    private final ObjectMapper objectMapper;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         HttpComponentsClientHttpRequestFactory requestFactory,
+                         WebClient.Builder webClientBuilder,
+                         @Value("${shareit-server.client-mode:REACTIVE}") ClientMode mode,
+                         ResponseCache responseCache, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
         super(
                 builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                webClientBuilder.uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                mode,
+                meterRegistry
         );
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
     }
 
-    public ResponseEntity<Object> getBookingById(long userId, long bookingId) {
+    public Mono<ResponseEntity<byte[]>> getBookingById(long userId, long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookingsOfUser(long from, long size, BookingState state, long userId) {
+    public Mono<ResponseEntity<byte[]>> getBookingsOfUser(long from, long size, BookingState state, long userId, String cursor) {
         Map<String, Object> parameters = Map.of("state", state,
                 "from", from,
-                "size", size
+                "size", size,
+                "cursor", cursor
         );
 
-        return get("/?state={state}&from={from}&size={size}", userId, parameters);
+        return get("/?state={state}&from={from}&size={size}&cursor={cursor}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingsOfItemsOwner(long from, long size, BookingState state, long userId) {
+    public Mono<ResponseEntity<byte[]>> getBookingsOfItemsOwner(long from, long size, BookingState state, long userId,
+                                                          String cursor) {
         Map<String, Object> parameters = Map.of("state", state,
                 "from", from,
-                "size", size
+                "size", size,
+                "cursor", cursor
         );
 
-        return get("/owner/?state={state}&from={from}&size={size}", userId, parameters);
+        return get("/owner/?state={state}&from={from}&size={size}&cursor={cursor}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> saveNewBooking(BookingRequestDto bookingDto, long userId) {
+        return responseCache.write(post("", userId, bookingDto),
+                () -> responseCache.evict(ResponseCache.ITEMS, bookingDto.getItemId()));
+    }
+
+    public Mono<ResponseEntity<byte[]>> updateBooking(long bookingId, long userId, boolean approved) {
+        return patch("/" + bookingId + "?approved=" + approved, userId)
+                .doOnSuccess(this::evictBookedItem)
+                .doOnError(e -> responseCache.evictAll(ResponseCache.ITEMS));
     }
 
-    public ResponseEntity<Object> saveNewBooking(BookingRequestDto bookingDto, long userId) {
-        return post("", userId, bookingDto);
+    private void evictBookedItem(ResponseEntity<byte[]> response) {
+        JsonNode itemId = readItemId(response);
+        if (itemId.canConvertToLong()) {
+            responseCache.evict(ResponseCache.ITEMS, itemId.asLong());
+        } else {
+            responseCache.evictAll(ResponseCache.ITEMS);
+        }
     }
 
-    public ResponseEntity<Object> updateBooking(long bookingId, long userId, boolean approved) {
-        return patch("/" + bookingId + "?approved=" + approved, userId);
+    private JsonNode readItemId(ResponseEntity<byte[]> response) {
+        if (response == null || !response.hasBody()) {
+            return objectMapper.missingNode();
+        }
+        try {
+            return objectMapper.readTree(response.getBody()).path("item").path("id");
+        } catch (IOException e) {
+            return objectMapper.missingNode();
+        }
     }
 }
\ No newline at end of file
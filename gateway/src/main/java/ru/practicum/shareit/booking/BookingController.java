@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.exception.InvalidDateException;
 import ru.practicum.shareit.exception.NoSuchStateForBookingSearchException;
 
@@ -22,43 +23,45 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                 @PathVariable("bookingId") long bookingId) {
+    public Mono<ResponseEntity<byte[]>> getBookingById(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                       @PathVariable("bookingId") long bookingId) {
         log.info("получен запрос на получение бронирования с id " + bookingId);
 
         return bookingClient.getBookingById(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookingsOfUser(@RequestParam(defaultValue = "ALL") String state,
-                                                    @RequestHeader("X-Sharer-User-Id") long userId,
-                                                    @RequestParam(defaultValue = "0") @PositiveOrZero long from,
-                                                    @RequestParam(defaultValue = "20") @Positive long size) {
+    public Mono<ResponseEntity<byte[]>> getBookingsOfUser(@RequestParam(defaultValue = "ALL") String state,
+                                                          @RequestHeader("X-Sharer-User-Id") long userId,
+                                                          @RequestParam(defaultValue = "0") @PositiveOrZero long from,
+                                                          @RequestParam(defaultValue = "20") @Positive long size,
+                                                          @RequestParam(defaultValue = "") String cursor) {
         BookingState stateParam = BookingState.from(state)
                 .orElseThrow(() -> new NoSuchStateForBookingSearchException("Unknown state: " + state));
 
         log.info("получен запрос на получение бронирований со статусом " + state + " пользователя с id " + userId);
 
-        return bookingClient.getBookingsOfUser(from, size, stateParam, userId);
+        return bookingClient.getBookingsOfUser(from, size, stateParam, userId, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsOfItemsOwner(@RequestParam(defaultValue = "ALL") String state,
-                                                          @RequestHeader("X-Sharer-User-Id") long userId,
-                                                          @RequestParam(defaultValue = "0") @PositiveOrZero long from,
-                                                          @RequestParam(defaultValue = "20") @Positive long size) {
+    public Mono<ResponseEntity<byte[]>> getBookingsOfItemsOwner(@RequestParam(defaultValue = "ALL") String state,
+                                                                @RequestHeader("X-Sharer-User-Id") long userId,
+                                                                @RequestParam(defaultValue = "0") @PositiveOrZero long from,
+                                                                @RequestParam(defaultValue = "20") @Positive long size,
+                                                                @RequestParam(defaultValue = "") String cursor) {
         BookingState stateParam = BookingState.from(state)
                 .orElseThrow(() -> new NoSuchStateForBookingSearchException("Unknown state: " + state));
 
         log.info("получен запрос на получение бронирований от хозяина вещей со статусом " + state +
                 " пользователя с id " + userId);
 
-        return bookingClient.getBookingsOfItemsOwner(from, size, stateParam, userId);
+        return bookingClient.getBookingsOfItemsOwner(from, size, stateParam, userId, cursor);
     }
 
     @PostMapping
-    public ResponseEntity<Object> saveNewBooking(@RequestBody @Valid BookingRequestDto bookingDto,
-                                                 @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<byte[]>> saveNewBooking(@RequestBody @Valid BookingRequestDto bookingDto,
+                                                       @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("получен запрос на добавление бронирования от пользователя id " + userId);
 
         if (bookingDto.getEnd().isBefore(bookingDto.getStart()) || bookingDto.getStart().isEqual(bookingDto.getEnd())) {
@@ -69,9 +72,9 @@ public class BookingController {
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBooking(@PathVariable long bookingId,
-                                                @RequestParam(required = true) boolean approved,
-                                                @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<byte[]>> updateBooking(@PathVariable long bookingId,
+                                                      @RequestParam(required = true) boolean approved,
+                                                      @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("получен запрос на изменение статуса бронирования с id " + bookingId + ", от пользователя с id " + userId);
 
         return bookingClient.updateBooking(bookingId, userId, approved);
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class ResponseCache implements MeterBinder {
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    public static final String REQUESTS = "requests";
+    public static final String SEARCH = "search";
+
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private final Map<String, Cache<Key, ResponseEntity<byte[]>>> regions = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ResponseCache(@Value("${shareit.response-cache.maximum-weight:16MB}") DataSize maximumWeight,
+                         @Value("${shareit.response-cache.expire-after-write:PT30S}") Duration ttl) {
+        for (String region : List.of(USERS, ITEMS, REQUESTS, SEARCH)) {
+            regions.put(region, Caffeine.newBuilder()
+                    .maximumWeight(maximumWeight.toBytes())
+                    .weigher(ResponseCache::weigh)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build());
+        }
+    }
+
+    public Mono<ResponseEntity<byte[]>> get(String region, Long resourceId, Object request, Long userId,
+                                            Supplier<Mono<ResponseEntity<byte[]>>> loader) {
+        Cache<Key, ResponseEntity<byte[]>> cache = regions.get(region);
+        Key key = new Key(resourceId, request, userId);
+        return Mono.defer(() -> {
+            ResponseEntity<byte[]> cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+
+            long version = invalidations.get();
+            return loader.get().doOnNext(response -> {
+                if (response.getStatusCode() != HttpStatus.OK || invalidations.get() != version) {
+                    return;
+                }
+                cache.put(key, response);
+                if (invalidations.get() != version) {
+                    cache.invalidate(key);
+                }
+            });
+        });
+    }
+
+    public Mono<ResponseEntity<byte[]>> write(Mono<ResponseEntity<byte[]>> request, Runnable invalidation) {
+        return request.doOnSuccess(response -> invalidation.run())
+                .doOnError(e -> invalidation.run());
+    }
+
+    public void evict(String region, long resourceId) {
+        invalidations.incrementAndGet();
+        regions.get(region).asMap().keySet().removeIf(key -> Objects.equals(key.resourceId, resourceId));
+    }
+
+    public void evictAll(String region) {
+        invalidations.incrementAndGet();
+        regions.get(region).invalidateAll();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        regions.forEach((region, cache) -> CaffeineCacheMetrics.monitor(registry, cache, "gateway-" + region));
+    }
+
+    private static int weigh(Key key, ResponseEntity<byte[]> response) {
+        byte[] body = response.getBody();
+        return ENTRY_OVERHEAD + key.request.toString().length() + (body != null ? body.length : 0);
+    }
+
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static class Key {
+        private final Long resourceId;
+        private final Object request;
+        private final Long userId;
+    }
+}
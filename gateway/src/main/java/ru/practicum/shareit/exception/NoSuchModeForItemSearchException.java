@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class NoSuchModeForItemSearchException extends RuntimeException {
+    public NoSuchModeForItemSearchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class TooManyItemsRequestedException extends RuntimeException {
+    public TooManyItemsRequestedException(String message) {
+        super(message);
+    }
+}
@@ -1,63 +1,125 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientMode;
+import ru.practicum.shareit.client.ResponseCache;
 
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 public class ItemClient extends BaseClient {
     private static String API_PREFIX = "/items";
+    private static final byte[] EMPTY_LIST = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private final ResponseCache responseCache;
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      HttpComponentsClientHttpRequestFactory requestFactory,
+                      WebClient.Builder webClientBuilder,
+                      @Value("${shareit-server.client-mode:REACTIVE}") ClientMode mode,
+                      ResponseCache responseCache, MeterRegistry meterRegistry) {
         super(
                 builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                webClientBuilder.uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                mode,
+                meterRegistry
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> getItemById(long itemId, long userId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<byte[]>> getItemById(long itemId, long userId) {
+        return responseCache.get(ResponseCache.ITEMS, itemId, "/" + itemId, userId, () -> get("/" + itemId, userId));
     }
 
-    public ResponseEntity<Object> getAllItemsOfUser(long userId, long from, long size) {
+    public Mono<ResponseEntity<byte[]>> getAllItemsOfUser(long userId, long from, long size, String cursor) {
         Map<String, Object> parameters = Map.of("from", from,
-                "size", size);
+                "size", size,
+                "cursor", cursor);
+
+        return get("/?from={from}&size={size}&cursor={cursor}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getItemsByIds(List<Long> ids, long userId) {
+        Map<String, Object> parameters = Map.of("ids", ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(",")));
 
-        return get("/?from={from}&size={size}", userId, parameters);
+        return get("/?ids={ids}", userId, parameters);
     }
 
-    public ResponseEntity<Object> saveNewItem(ItemDto itemDto, long userId) {
-        return post("", userId, itemDto);
+    public Mono<ResponseEntity<byte[]>> saveNewItem(ItemDto itemDto, long userId) {
+        return responseCache.write(post("", userId, itemDto), () -> {
+            responseCache.evictAll(ResponseCache.SEARCH);
+            if (itemDto.getRequestId() != null) {
+                responseCache.evict(ResponseCache.REQUESTS, itemDto.getRequestId());
+            }
+        });
     }
 
-    public ResponseEntity<Object> updateItem(ItemDto itemDto, long itemId, long userId) {
-        return patch("/" + itemId, userId, itemDto);
+    public Mono<ResponseEntity<byte[]>> importItems(List<ItemDto> items, long userId) {
+        return responseCache.write(post("/import", userId, items), () -> {
+            responseCache.evictAll(ResponseCache.SEARCH);
+            items.stream()
+                    .map(ItemDto::getRequestId)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .forEach(requestId -> responseCache.evict(ResponseCache.REQUESTS, requestId));
+        });
     }
 
-    public ResponseEntity<Object> searchItems(long from, long size, String text) {
+    public Mono<ResponseEntity<byte[]>> updateItem(ItemDto itemDto, long itemId, long userId) {
+        return responseCache.write(patch("/" + itemId, userId, itemDto), () -> {
+            responseCache.evict(ResponseCache.ITEMS, itemId);
+            responseCache.evictAll(ResponseCache.REQUESTS);
+            responseCache.evictAll(ResponseCache.SEARCH);
+        });
+    }
+
+    public Mono<ResponseEntity<byte[]>> searchItems(long from, long size, String text, ItemSearchMode mode, String cursor) {
         if (text.isBlank()) {
-            return new ResponseEntity<>(Collections.EMPTY_LIST, HttpStatus.OK);
+            return Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(EMPTY_LIST));
         }
 
         Map<String, Object> parameters = Map.of("from", from,
                 "size", size,
-                "text", text);
+                "text", text,
+                "mode", mode,
+                "cursor", cursor);
+
+        return responseCache.get(ResponseCache.SEARCH, null, parameters, null,
+                () -> get("/search/?text={text}&from={from}&size={size}&mode={mode}&cursor={cursor}", null, parameters));
+    }
+
+    public Mono<ResponseEntity<byte[]>> getItemAvailability(long itemId, long userId, LocalDateTime from,
+                                                            LocalDateTime to) {
+        Map<String, Object> parameters = Map.of("from", from,
+                "to", to);
 
-        return get("/search/?text={text}&from={from}&size={size}", null, parameters);
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
     }
 
-    public ResponseEntity<Object> saveNewComment(long itemId, Comment comment, long userId) {
-        return post("/" + itemId + "/comment", userId, comment);
+    public Mono<ResponseEntity<byte[]>> saveNewComment(long itemId, Comment comment, long userId) {
+        return responseCache.write(post("/" + itemId + "/comment", userId, comment),
+                () -> responseCache.evict(ResponseCache.ITEMS, itemId));
     }
 }
@@ -3,13 +3,24 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.InvalidDateException;
+import ru.practicum.shareit.exception.NoSuchModeForItemSearchException;
+import ru.practicum.shareit.exception.TooManyItemsRequestedException;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
@@ -18,49 +29,94 @@ import javax.validation.constraints.PositiveOrZero;
 @RequestMapping(path = "/items")
 public class ItemController {
     private final ItemClient itemClient;
+    private final ItemImporter itemImporter;
+
+    @Value("${shareit.items.batch-max-size:100}")
+    private int batchMaxSize = 100;
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@PathVariable long itemId,
-                                              @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<byte[]>> getItemById(@PathVariable long itemId,
+                                                    @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("получен запрос на получение вещи с id " + itemId);
         return itemClient.getItemById(itemId, userId);
     }
 
     @GetMapping()
-    public ResponseEntity<Object> getAllItemsOfUser(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                    @RequestParam(defaultValue = "0") @PositiveOrZero long from,
-                                                    @RequestParam(defaultValue = "20") @Positive long size) {
+    public Mono<ResponseEntity<byte[]>> getAllItemsOfUser(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                          @RequestParam(defaultValue = "0") @PositiveOrZero long from,
+                                                          @RequestParam(defaultValue = "20") @Positive long size,
+                                                          @RequestParam(defaultValue = "") String cursor) {
         log.info("получен запрос на получение всех вещей пользователя с id " + userId);
-        return itemClient.getAllItemsOfUser(userId, from, size);
+        return itemClient.getAllItemsOfUser(userId, from, size, cursor);
+    }
+
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<byte[]>> getItemsByIds(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @RequestParam List<Long> ids) {
+        if (ids.size() > batchMaxSize) {
+            throw new TooManyItemsRequestedException("Нельзя запросить больше " + batchMaxSize + " вещей за раз");
+        }
+
+        log.info("получен запрос на получение вещей с id " + ids + " от пользователя с id " + userId);
+        return itemClient.getItemsByIds(ids, userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> saveNewItem(@RequestBody @Valid ItemDto itemDto,
-                                              @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<byte[]>> saveNewItem(@RequestBody @Valid ItemDto itemDto,
+                                                    @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("получен запрос на добавление вещи пользователю с id " + userId);
         return itemClient.saveNewItem(itemDto, userId);
     }
 
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<byte[]> importItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                              InputStream body) throws IOException {
+        log.info("получен запрос на импорт вещей пользователю с id " + userId);
+        return itemImporter.importItems(body, userId);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestBody ItemDto itemDto,
-                                             @PathVariable long itemId,
-                                             @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<byte[]>> updateItem(@RequestBody ItemDto itemDto,
+                                                   @PathVariable long itemId,
+                                                   @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("получен запрос на обновление вещи с id " + itemId + ", пользователя с id " + userId);
         return itemClient.updateItem(itemDto, itemId, userId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam String text,
-                                              @RequestParam(defaultValue = "0") @PositiveOrZero long from,
-                                              @RequestParam(defaultValue = "20") @Positive long size) {
-        log.info("получен запрос на поиск вещей по запросу: " + text);
-        return itemClient.searchItems(from, size, text);
+    public Mono<ResponseEntity<byte[]>> searchItems(@RequestParam String text,
+                                                    @RequestParam(defaultValue = "0") @PositiveOrZero long from,
+                                                    @RequestParam(defaultValue = "20") @Positive long size,
+                                                    @RequestParam(defaultValue = "TOKEN") String mode,
+                                                    @RequestParam(defaultValue = "") String cursor) {
+        ItemSearchMode modeParam = ItemSearchMode.from(mode)
+                .orElseThrow(() -> new NoSuchModeForItemSearchException("Unknown search mode: " + mode));
+
+        log.info("получен запрос на поиск вещей по запросу: " + text + ", режим поиска " + modeParam);
+        return itemClient.searchItems(from, size, text, modeParam, cursor);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<byte[]>> getItemAvailability(@PathVariable long itemId,
+                                                            @RequestHeader("X-Sharer-User-Id") long userId,
+                                                            @RequestParam
+                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                            LocalDateTime from,
+                                                            @RequestParam
+                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                            LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidDateException("Некорректные даты начала/конца периода");
+        }
+
+        log.info("получен запрос на получение занятости вещи с id " + itemId + " с " + from + " по " + to);
+        return itemClient.getItemAvailability(itemId, userId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> saveNewComment(@PathVariable long itemId,
-                                                 @RequestBody @Valid Comment comment,
-                                                 @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<byte[]>> saveNewComment(@PathVariable long itemId,
+                                                       @RequestBody @Valid Comment comment,
+                                                       @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("получен запрос на добавление комментария к вещи с id " + itemId + " от пользователя с id " + userId);
         return itemClient.saveNewComment(itemId, comment, userId);
     }
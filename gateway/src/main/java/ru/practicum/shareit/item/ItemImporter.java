@@ -0,0 +1,131 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemImporter {
+    private final ItemClient itemClient;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${shareit.items.import-chunk-size:500}")
+    private int chunkSize = 500;
+
+    public ResponseEntity<byte[]> importItems(InputStream body, long userId) throws IOException {
+        ItemImportResult result = new ItemImportResult();
+        List<ItemDto> chunk = new ArrayList<>();
+        List<Long> chunkIndexes = new ArrayList<>();
+
+        try (MappingIterator<ItemDto> items = objectMapper.readerFor(ItemDto.class).readValues(body)) {
+            long index = 0;
+            while (hasNext(items, index, result)) {
+                try {
+                    ItemDto itemDto = items.next();
+                    Set<ConstraintViolation<ItemDto>> violations = validator.validate(itemDto);
+                    if (violations.isEmpty()) {
+                        chunk.add(itemDto);
+                        chunkIndexes.add(index);
+                    } else {
+                        result.getErrors().add(new ItemImportError(index, describe(violations)));
+                    }
+                } catch (RuntimeJsonMappingException e) {
+                    result.getErrors().add(new ItemImportError(index, "Некорректная запись: " + e.getMessage()));
+                }
+                index++;
+
+                if (chunk.size() >= chunkSize) {
+                    Optional<ResponseEntity<byte[]>> failure = sendChunk(chunk, chunkIndexes, userId, result);
+                    if (failure.isPresent()) {
+                        return interrupted(failure.get(), chunkIndexes, result);
+                    }
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            Optional<ResponseEntity<byte[]>> failure = sendChunk(chunk, chunkIndexes, userId, result);
+            if (failure.isPresent()) {
+                return interrupted(failure.get(), chunkIndexes, result);
+            }
+        }
+
+        return respond(HttpStatus.OK, result);
+    }
+
+    private ResponseEntity<byte[]> interrupted(ResponseEntity<byte[]> failure, List<Long> chunkIndexes,
+                                               ItemImportResult result) throws IOException {
+        if (result.getImported() == 0 && failure != null) {
+            return failure;
+        }
+        String status = failure == null ? "нет ответа" : String.valueOf(failure.getStatusCodeValue());
+        result.getErrors().add(new ItemImportError(chunkIndexes.get(0), String.format(
+                "Записи %d-%d не сохранены, импорт остановлен: сервер ответил %s",
+                chunkIndexes.get(0), chunkIndexes.get(chunkIndexes.size() - 1), status)));
+        return respond(HttpStatus.MULTI_STATUS, result);
+    }
+
+    private ResponseEntity<byte[]> respond(HttpStatus status, ItemImportResult result) throws IOException {
+        result.getErrors().sort(Comparator.comparingLong(ItemImportError::getIndex));
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsBytes(result));
+    }
+
+    private Optional<ResponseEntity<byte[]>> sendChunk(List<ItemDto> chunk, List<Long> chunkIndexes, long userId,
+                                                       ItemImportResult result) throws IOException {
+        ResponseEntity<byte[]> response = itemClient.importItems(chunk, userId).block();
+        if (response == null || !response.getStatusCode().is2xxSuccessful()) {
+            log.warn("Импорт вещей пользователя с id {} прерван сервером, сохранено вещей: {}", userId,
+                    result.getImported());
+            return Optional.ofNullable(response);
+        }
+
+        ItemImportResult chunkResult = objectMapper.readValue(response.getBody(), ItemImportResult.class);
+        result.setImported(result.getImported() + chunkResult.getImported());
+        for (ItemImportError error : chunkResult.getErrors()) {
+            result.getErrors().add(new ItemImportError(chunkIndexes.get((int) error.getIndex()), error.getError()));
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+        return Optional.empty();
+    }
+
+    private static boolean hasNext(Iterator<ItemDto> items, long index, ItemImportResult result) {
+        try {
+            return items.hasNext();
+        } catch (RuntimeException e) {
+            result.getErrors().add(new ItemImportError(index, "Некорректный JSON, импорт остановлен: "
+                    + e.getMessage()));
+            return false;
+        }
+    }
+
+    private static String describe(Set<ConstraintViolation<ItemDto>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item;
+
+import java.util.Optional;
+
+public enum ItemSearchMode {
+    TOKEN,
+    SUBSTRING;
+
+    public static Optional<ItemSearchMode> from(String stringMode) {
+        for (ItemSearchMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(stringMode)) {
+                return Optional.of(mode);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -1,13 +1,18 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientMode;
+import ru.practicum.shareit.client.ResponseCache;
 
 import java.util.Map;
 
@@ -15,30 +20,43 @@ import java.util.Map;
 public class ItemRequestClient extends BaseClient {
     private static String API_PREFIX = "/requests";
 
+    private final ResponseCache responseCache;
+
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             HttpComponentsClientHttpRequestFactory requestFactory,
+                             WebClient.Builder webClientBuilder,
+                             @Value("${shareit-server.client-mode:REACTIVE}") ClientMode mode,
+                      ResponseCache responseCache, MeterRegistry meterRegistry) {
         super(
                 builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                webClientBuilder.uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                mode,
+                meterRegistry
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> saveNewRequest(ItemRequest itemRequest, long userId) {
+    public Mono<ResponseEntity<byte[]>> saveNewRequest(ItemRequest itemRequest, long userId) {
         return post("", userId, itemRequest);
     }
 
-    public ResponseEntity<Object> getRequestsOfUser(long userId) {
+    public Mono<ResponseEntity<byte[]>> getRequestsOfUser(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getRequestById(long requestId, long userId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<byte[]>> getRequestById(long requestId, long userId) {
+        return responseCache.get(ResponseCache.REQUESTS, requestId, "/" + requestId, userId,
+                () -> get("/" + requestId, userId));
     }
 
-    public ResponseEntity<Object> getAllRequests(long userId, long from, long size) {
+    public Mono<ResponseEntity<byte[]>> getAllRequests(long userId, long from, long size, String cursor) {
         Map<String, Object> parameters = Map.of("from", from,
-                "size", size);
-        return get("/all?from={from}&size={size}", userId, parameters);
+                "size", size,
+                "cursor", cursor);
+        return get("/all?from={from}&size={size}&cursor={cursor}", userId, parameters);
     }
 }
@@ -1,44 +1,68 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientMode;
+import ru.practicum.shareit.client.ResponseCache;
 
 @Service
 public class UserClient extends BaseClient {
     private static String API_PREFIX = "/users";
 
+    private final ResponseCache responseCache;
+
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      HttpComponentsClientHttpRequestFactory requestFactory,
+                      WebClient.Builder webClientBuilder,
+                      @Value("${shareit-server.client-mode:REACTIVE}") ClientMode mode,
+                      ResponseCache responseCache, MeterRegistry meterRegistry) {
         super(
                 builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                webClientBuilder.uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                mode,
+                meterRegistry
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<byte[]>> getAllUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> getUserById(long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<byte[]>> getUserById(long userId) {
+        return responseCache.get(ResponseCache.USERS, userId, "/" + userId, null, () -> get("/" + userId));
     }
 
-    public ResponseEntity<Object> saveNewUser(User user) {
+    public Mono<ResponseEntity<byte[]>> saveNewUser(User user) {
         return post("", user);
     }
 
-    public ResponseEntity<Object> updateUser(User user, long userId) {
-        return patch("/" + userId, user);
+    public Mono<ResponseEntity<byte[]>> updateUser(User user, long userId) {
+        return responseCache.write(patch("/" + userId, user), () -> {
+            responseCache.evict(ResponseCache.USERS, userId);
+            responseCache.evictAll(ResponseCache.ITEMS);
+        });
     }
 
-    public ResponseEntity<Object> deleteUser(long userId) {
-        return delete("/" + userId);
+    public Mono<ResponseEntity<byte[]>> deleteUser(long userId) {
+        return responseCache.write(delete("/" + userId), () -> {
+            responseCache.evict(ResponseCache.USERS, userId);
+            responseCache.evictAll(ResponseCache.ITEMS);
+            responseCache.evictAll(ResponseCache.REQUESTS);
+            responseCache.evictAll(ResponseCache.SEARCH);
+        });
     }
 }
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.client.ClientMode;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingClientTest {
+    private final Map<String, Integer> serverRequests = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private ItemClient itemClient;
+    private BookingClient bookingClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> respond(exchange, "{}"));
+        server.createContext("/bookings", exchange -> respond(exchange, "{\"id\":5,\"item\":{\"id\":1}}"));
+        server.start();
+
+        String serverUrl = "http://localhost:" + server.getAddress().getPort();
+        ResponseCache responseCache = new ResponseCache(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        itemClient = new ItemClient(serverUrl, new RestTemplateBuilder(), new HttpComponentsClientHttpRequestFactory(),
+                WebClient.builder(), ClientMode.REACTIVE, responseCache, new SimpleMeterRegistry());
+        bookingClient = new BookingClient(serverUrl, new RestTemplateBuilder(),
+                new HttpComponentsClientHttpRequestFactory(), WebClient.builder(), ClientMode.REACTIVE, responseCache,
+                new ObjectMapper().registerModule(new JavaTimeModule()), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void saveNewBooking_shouldEvictOnlyBookedItem() {
+        loadItems();
+
+        bookingClient.saveNewBooking(new BookingRequestDto(LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), 1), 2).block();
+        loadItems();
+
+        assertEquals(2, serverRequests.get("/items/1"));
+        assertEquals(1, serverRequests.get("/items/2"));
+    }
+
+    @Test
+    void updateBooking_shouldEvictOnlyBookedItem() {
+        loadItems();
+
+        bookingClient.updateBooking(5, 2, true).block();
+        loadItems();
+
+        assertEquals(2, serverRequests.get("/items/1"));
+        assertEquals(1, serverRequests.get("/items/2"));
+    }
+
+    private void loadItems() {
+        itemClient.getItemById(1, 2).block();
+        itemClient.getItemById(2, 2).block();
+    }
+
+    private void respond(HttpExchange exchange, String json) throws IOException {
+        serverRequests.merge(exchange.getRequestURI().getPath(), 1, Integer::sum);
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
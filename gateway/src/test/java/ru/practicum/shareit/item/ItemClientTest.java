@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientMode;
+import ru.practicum.shareit.client.ResponseCache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemClientTest {
+    private static final byte[] BODY = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger serverRequests = new AtomicInteger();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            serverRequests.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add(BaseClient.NEXT_CURSOR_HEADER, "nextCursor");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(BODY);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ClientMode.class)
+    void getAllItemsOfUser_shouldForwardNextCursorHeader(ClientMode mode) {
+        ResponseEntity<byte[]> response = client(mode).getAllItemsOfUser(1, 0, 10, "").block();
+
+        assertEquals("nextCursor", response.getHeaders().getFirst(BaseClient.NEXT_CURSOR_HEADER));
+    }
+
+    @ParameterizedTest
+    @EnumSource(ClientMode.class)
+    void searchItems_shouldKeepNextCursorHeaderInCachedResponse(ClientMode mode) {
+        ItemClient itemClient = client(mode);
+
+        ResponseEntity<byte[]> loaded = itemClient.searchItems(0, 10, "дрель", ItemSearchMode.TOKEN, "").block();
+        ResponseEntity<byte[]> cached = itemClient.searchItems(0, 10, "дрель", ItemSearchMode.TOKEN, "").block();
+
+        assertEquals(1, serverRequests.get());
+        assertEquals("nextCursor", loaded.getHeaders().getFirst(BaseClient.NEXT_CURSOR_HEADER));
+        assertEquals("nextCursor", cached.getHeaders().getFirst(BaseClient.NEXT_CURSOR_HEADER));
+    }
+
+    private ItemClient client(ClientMode mode) {
+        return new ItemClient("http://localhost:" + server.getAddress().getPort(), new RestTemplateBuilder(),
+                new HttpComponentsClientHttpRequestFactory(), WebClient.builder(), mode,
+                new ResponseCache(DataSize.ofMegabytes(1), Duration.ofMinutes(1)), new SimpleMeterRegistry());
+    }
+}
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.booking;
 
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import ru.practicum.shareit.ids.IdSequenceConfig;
+import ru.practicum.shareit.ids.PooledSequenceGenerator;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.user.User;
 
@@ -8,14 +11,19 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@NamedEntityGraph(name = Booking.ITEM_AND_BOOKER_GRAPH,
+        attributeNodes = {@NamedAttributeNode("item"), @NamedAttributeNode("booker")})
 @Table(name = "bookings")
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class Booking {
+    public static final String ITEM_AND_BOOKER_GRAPH = "Booking.itemAndBooker";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = IdSequenceConfig.BOOKINGS_SEQUENCE)
+    @GenericGenerator(name = IdSequenceConfig.BOOKINGS_SEQUENCE, strategy = PooledSequenceGenerator.STRATEGY)
     private long id;
 
     @Column(name = "start_date")
@@ -36,4 +44,7 @@ public class Booking {
 
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
+
+    @Version
+    private long version;
 }
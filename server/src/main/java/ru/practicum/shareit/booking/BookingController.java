@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -14,29 +15,31 @@ public class BookingController {
     private final BookingService bookingService;
 
     @GetMapping("/{bookingId}")
-    public SavedBookingDto getBookingById(@PathVariable long bookingId,
+    public ResponseEntity<SavedBookingDto> getBookingById(@PathVariable long bookingId,
                                           @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("получен запрос на получение бронирования с id " + bookingId);
-        return bookingService.getBookingById(bookingId, userId);
+        return bookingService.getBookingById(bookingId, userId).toResponseEntity();
     }
 
     @GetMapping
-    public List<SavedBookingDto> getBookingsOfUser(@RequestParam(defaultValue = "ALL") String state,
-                                                   @RequestHeader("X-Sharer-User-Id") long userId,
-                                                   @RequestParam(defaultValue = "0") long from,
-                                                   @RequestParam(defaultValue = "20") long size) {
+    public ResponseEntity<List<SavedBookingDto>> getBookingsOfUser(@RequestParam(defaultValue = "ALL") String state,
+                                                                   @RequestHeader("X-Sharer-User-Id") long userId,
+                                                                   @RequestParam(defaultValue = "0") long from,
+                                                                   @RequestParam(defaultValue = "20") long size,
+                                                                   @RequestParam(defaultValue = "") String cursor) {
         log.info("получен запрос на получение бронирований со статусом " + state + " пользователя с id " + userId);
-        return bookingService.getBookingsOfUser(from, size, state, userId);
+        return bookingService.getBookingsOfUser(from, size, state, userId, cursor).toResponseEntity();
     }
 
     @GetMapping("owner")
-    public List<SavedBookingDto> getBookingsOfItemsOwner(@RequestParam(defaultValue = "ALL") String state,
-                                                         @RequestHeader("X-Sharer-User-Id") long userId,
-                                                         @RequestParam(defaultValue = "0") long from,
-                                                         @RequestParam(defaultValue = "20") long size) {
+    public ResponseEntity<List<SavedBookingDto>> getBookingsOfItemsOwner(@RequestParam(defaultValue = "ALL") String state,
+                                                                         @RequestHeader("X-Sharer-User-Id") long userId,
+                                                                         @RequestParam(defaultValue = "0") long from,
+                                                                         @RequestParam(defaultValue = "20") long size,
+                                                                         @RequestParam(defaultValue = "") String cursor) {
         log.info("получен запрос на получение бронирований от хозяина вещей со статусом " + state +
                 " пользователя с id " + userId);
-        return bookingService.getBookingsOfItemsOwner(from, size, state, userId);
+        return bookingService.getBookingsOfItemsOwner(from, size, state, userId, cursor).toResponseEntity();
     }
 
     @PostMapping
@@ -36,10 +36,10 @@ public class BookingMapper {
         return savedBookingsDto;
     }
 
-    public static BookingItemDto toBookingItemDto(Booking booking) {
+    public static BookingItemDto toBookingItemDto(ItemNearestBooking booking) {
         BookingItemDto bookingItemDto = new BookingItemDto();
         bookingItemDto.setId(booking.getId());
-        bookingItemDto.setBookerId(booking.getBooker().getId());
+        bookingItemDto.setBookerId(booking.getBookerId());
 
         return bookingItemDto;
     }
@@ -1,59 +1,135 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBookerIdOrderByEndDesc(Pageable pageable, long bookerId);
+    @EntityGraph(Booking.ITEM_AND_BOOKER_GRAPH)
+    @Query("SELECT b FROM Booking b WHERE b.id = ?1")
+    Optional<Booking> findById(long bookingId);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.booker.id = ?1 AND b.status in (?2) " +
-            "AND b.start < ?3 AND b.end > ?3 ORDER BY b.start DESC")
-    List<Booking> findCurrentBookingsOfUser(Pageable pageable, long bookerId, List<BookingStatus> status, LocalDateTime now);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = ?1")
+    Optional<Booking> findForUpdate(long bookingId);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.booker.id = ?1 " +
-            "AND b.end < ?2 ORDER BY b.start DESC")
-    List<Booking> findPastBookingsOfUser(Pageable pageable, long bookerId, LocalDateTime now);
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.item.id = ?1 AND b.status = 'APPROVED' " +
+            "AND b.start < ?3 AND b.end > ?2 AND b.id <> ?4")
+    boolean existsApprovedOverlap(long itemId, LocalDateTime start, LocalDateTime end, long excludedBookingId);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.booker.id = ?1 " +
-            "AND b.start > ?2 ORDER BY b.start DESC")
-    List<Booking> findFutureBookingsOfUser(Pageable pageable, long bookerId, LocalDateTime now);
+    @Query("SELECT b.start AS start, b.end AS end FROM Booking b WHERE b.item.id = ?1 AND b.status = 'APPROVED' " +
+            "AND b.end > ?2")
+    List<BookingInterval> findApprovedIntervals(long itemId, LocalDateTime endAfter);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.booker.id = ?1 AND b.status = ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findWaitingOrRejectedBookingsOfUser(Pageable pageable, long bookerId, BookingStatus status);
+    @Query("SELECT DISTINCT b.item.id FROM Booking b WHERE b.booker.id = ?1")
+    List<Long> findItemsIdsBookedBy(long bookerId);
 
-    @Query("SELECT i.id FROM Item i WHERE i.owner.id = ?1")
-    List<Long> getItemsIdsOfOwner(long ownerId);
+    @Query("SELECT b.id AS id, b.start AS start, b.end AS end FROM Booking b WHERE b.item.id = ?1 " +
+            "AND b.status IN ('APPROVED', 'WAITING') AND b.end > ?2")
+    List<OccupiedInterval> findOccupiedIntervals(long itemId, LocalDateTime endAfter);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.item.id in (?1) " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllByItemsIds(Pageable pageable, List<Long> itemsIds);
+    @Query("SELECT b.id AS id, b.start AS start, b.end AS end FROM Booking b WHERE b.item.id = ?1 " +
+            "AND b.status IN ('APPROVED', 'WAITING') AND b.end > ?2 AND b.start < ?3")
+    List<OccupiedInterval> findOccupiedIntervals(long itemId, LocalDateTime endAfter, LocalDateTime startBefore);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.item.id in (?1) AND b.status in (?2) " +
-            "AND b.start < ?3 AND b.end > ?3 ORDER BY b.start DESC")
-    List<Booking> findCurrentBookingsOfItemsOwner(Pageable pageable, List<Long> itemsIds, List<BookingStatus> status, LocalDateTime now);
+    @EntityGraph(Booking.ITEM_AND_BOOKER_GRAPH)
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = ?1 " +
+            "AND b.end <= ?2 AND (b.end < ?2 OR b.id < ?3) ORDER BY b.end DESC, b.id DESC")
+    List<Booking> findAllByBookerIdOrderByEndDesc(Pageable pageable, long bookerId,
+                                                  LocalDateTime endBefore, long idBefore);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.item.id in (?1) " +
-            "AND b.end < ?2 ORDER BY b.start DESC")
-    List<Booking> findPastBookingsOfItemsOwner(Pageable pageable, List<Long> itemsIds, LocalDateTime now);
+    @EntityGraph(Booking.ITEM_AND_BOOKER_GRAPH)
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = ?1 AND b.status in (?2) " +
+            "AND b.start < ?3 AND b.end > ?3 " +
+            "AND b.start <= ?4 AND (b.start < ?4 OR b.id < ?5) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findCurrentBookingsOfUser(Pageable pageable, long bookerId, List<BookingStatus> status, LocalDateTime now,
+                                            LocalDateTime startBefore, long idBefore);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.item.id in (?1) " +
-            "AND b.start > ?2 ORDER BY b.start DESC")
-    List<Booking> findFutureBookingsOfItemsOwner(Pageable pageable, List<Long> itemsIds, LocalDateTime now);
+    @EntityGraph(Booking.ITEM_AND_BOOKER_GRAPH)
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = ?1 " +
+            "AND b.end < ?2 " +
+            "AND b.start <= ?3 AND (b.start < ?3 OR b.id < ?4) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findPastBookingsOfUser(Pageable pageable, long bookerId, LocalDateTime now,
+                                         LocalDateTime startBefore, long idBefore);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.item.id in (?1) AND b.status = ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findWaitingOrRejectedBookingsOfItemsOwner(Pageable pageable, List<Long> itemsIds, BookingStatus status);
+    @EntityGraph(Booking.ITEM_AND_BOOKER_GRAPH)
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = ?1 " +
+            "AND b.start > ?2 " +
+            "AND b.start <= ?3 AND (b.start < ?3 OR b.id < ?4) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findFutureBookingsOfUser(Pageable pageable, long bookerId, LocalDateTime now,
+                                           LocalDateTime startBefore, long idBefore);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.item.id in (?1) " +
-            "AND b.status = 'APPROVED'")
-    List<Booking> findApprovedItemsBookings(List<Long> itemsIds);
+    @EntityGraph(Booking.ITEM_AND_BOOKER_GRAPH)
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = ?1 AND b.status = ?2 " +
+            "AND b.start <= ?3 AND (b.start < ?3 OR b.id < ?4) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findWaitingOrRejectedBookingsOfUser(Pageable pageable, long bookerId, BookingStatus status,
+                                                      LocalDateTime startBefore, long idBefore);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.item.id = ?1 AND b.booker.id = ?2 " +
+    @EntityGraph(Booking.ITEM_AND_BOOKER_GRAPH)
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i " +
+            "WHERE b.item.id IN (SELECT o.id FROM Item o WHERE o.owner.id = ?1) " +
+            "AND b.start <= ?2 AND (b.start < ?2 OR b.id < ?3) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findAllBookingsOfItemsOwner(Pageable pageable, long ownerId,
+                                              LocalDateTime startBefore, long idBefore);
+
+    @EntityGraph(Booking.ITEM_AND_BOOKER_GRAPH)
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i " +
+            "WHERE b.item.id IN (SELECT o.id FROM Item o WHERE o.owner.id = ?1) " +
+            "AND b.status in (?2) " +
+            "AND b.start < ?3 AND b.end > ?3 " +
+            "AND b.start <= ?4 AND (b.start < ?4 OR b.id < ?5) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findCurrentBookingsOfItemsOwner(Pageable pageable, long ownerId, List<BookingStatus> status, LocalDateTime now,
+                                                  LocalDateTime startBefore, long idBefore);
+
+    @EntityGraph(Booking.ITEM_AND_BOOKER_GRAPH)
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i " +
+            "WHERE b.item.id IN (SELECT o.id FROM Item o WHERE o.owner.id = ?1) " +
+            "AND b.end < ?2 " +
+            "AND b.start <= ?3 AND (b.start < ?3 OR b.id < ?4) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findPastBookingsOfItemsOwner(Pageable pageable, long ownerId, LocalDateTime now,
+                                               LocalDateTime startBefore, long idBefore);
+
+    @EntityGraph(Booking.ITEM_AND_BOOKER_GRAPH)
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i " +
+            "WHERE b.item.id IN (SELECT o.id FROM Item o WHERE o.owner.id = ?1) " +
+            "AND b.start > ?2 " +
+            "AND b.start <= ?3 AND (b.start < ?3 OR b.id < ?4) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findFutureBookingsOfItemsOwner(Pageable pageable, long ownerId, LocalDateTime now,
+                                                 LocalDateTime startBefore, long idBefore);
+
+    @EntityGraph(Booking.ITEM_AND_BOOKER_GRAPH)
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i " +
+            "WHERE b.item.id IN (SELECT o.id FROM Item o WHERE o.owner.id = ?1) " +
+            "AND b.status = ?2 " +
+            "AND b.start <= ?3 AND (b.start < ?3 OR b.id < ?4) ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findWaitingOrRejectedBookingsOfItemsOwner(Pageable pageable, long ownerId, BookingStatus status,
+                                                            LocalDateTime startBefore, long idBefore);
+
+    @Query(value = "SELECT n.item_id AS \"itemId\", n.id AS \"id\", n.booker_id AS \"bookerId\", " +
+            "n.start_date AS \"start\", n.kind AS \"kind\" " +
+            "FROM (" +
+            "SELECT b.item_id, b.id, b.booker_id, b.start_date, " +
+            "CASE WHEN b.start_date < ?2 THEN 'LAST' ELSE 'NEXT' END AS kind, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id, CASE WHEN b.start_date < ?2 THEN 'LAST' ELSE 'NEXT' END " +
+            "ORDER BY CASE WHEN b.start_date < ?2 THEN b.start_date END DESC, b.start_date ASC) AS rn " +
+            "FROM bookings b WHERE b.item_id IN (?1) AND b.status = 'APPROVED' AND b.start_date <> ?2" +
+            ") n WHERE n.rn = 1", nativeQuery = true)
+    List<ItemNearestBooking> findNearestItemsBookings(List<Long> itemsIds, LocalDateTime now);
+
+    @Query("SELECT b.item.id AS itemId, COUNT(b.id) AS bookingsCount, " +
+            "SUM(CASE WHEN b.status = 'APPROVED' THEN 1 ELSE 0 END) AS approvedCount " +
+            "FROM Booking b WHERE b.item.id IN (?1) GROUP BY b.item.id")
+    List<ItemBookingCounts> countItemsBookings(List<Long> itemsIds);
+
+    @EntityGraph(Booking.ITEM_AND_BOOKER_GRAPH)
+    @Query("SELECT b FROM Booking b WHERE b.item.id = ?1 AND b.booker.id = ?2 " +
             "AND b.status = 'APPROVED' ORDER BY b.start ASC")
     List<Booking> findBookingByItemIdAndBookerId(long itemId, long bookerId, Pageable pageable);
 }
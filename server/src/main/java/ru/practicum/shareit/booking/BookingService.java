@@ -1,13 +1,15 @@
 package ru.practicum.shareit.booking;
 
-import java.util.List;
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.pagination.CursorPage;
 
 public interface BookingService {
-    SavedBookingDto getBookingById(long bookingId, long userId);
+    Tagged<SavedBookingDto> getBookingById(long bookingId, long userId);
 
-    List<SavedBookingDto> getBookingsOfUser(long from, long size, String state, long userId);
+    CursorPage<SavedBookingDto> getBookingsOfUser(long from, long size, String state, long userId, String cursor);
 
-    List<SavedBookingDto> getBookingsOfItemsOwner(long from, long size, String state, long userId);
+    CursorPage<SavedBookingDto> getBookingsOfItemsOwner(long from, long size, String state, long userId,
+                                                        String cursor);
 
     SavedBookingDto saveNewBooking(BookingDto bookingDto, long userId);
 
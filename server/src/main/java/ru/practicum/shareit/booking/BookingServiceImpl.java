@@ -2,15 +2,20 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.etag.EntityTag;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceIndex;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserRepository;
 
@@ -25,9 +30,13 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final UserExistenceIndex userExistenceIndex;
+    private final ItemBookingIntervals itemBookingIntervals;
+    private final ItemOccupancyIndex itemOccupancyIndex;
 
     @Override
-    public SavedBookingDto getBookingById(long bookingId, long userId) {
+    public Tagged<SavedBookingDto> getBookingById(long bookingId, long userId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Бронирование не найдено"));
         User booker = booking.getBooker();
@@ -39,79 +48,89 @@ public class BookingServiceImpl implements BookingService {
         bookingToReturn.setItem(ItemMapper.toItemBookingDto(item));
         bookingToReturn.setBooker(UserMapper.toUserBookingDto(booker));
 
-        return bookingToReturn;
+        return Tagged.of(bookingToReturn, bookingsTag("booking", List.of(booking)));
     }
 
     @Override
-    public List<SavedBookingDto> getBookingsOfUser(long from, long size, String state, long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("Пользователь не найден"));
+    public CursorPage<SavedBookingDto> getBookingsOfUser(long from, long size, String state, long userId, String cursor) {
+        userExistenceIndex.requireExists(userId);
         List<Booking> bookings;
-        Pageable pageable = PageRequest.of((int) (from / size), (int) size);
+        Pageable pageable = OffsetPageRequest.of(from, size, cursor);
+        PageCursor after = PageCursor.decode(cursor, PageCursor.LATEST);
 
         switch (state) {
             case "ALL":
-                bookings = bookingRepository.findAllByBookerIdOrderByEndDesc(pageable, userId);
+                bookings = bookingRepository.findAllByBookerIdOrderByEndDesc(pageable, userId,
+                        after.getTimestamp(), after.getId());
                 break;
             case "CURRENT":
                 bookings = bookingRepository.findCurrentBookingsOfUser(pageable, userId,
-                        List.of(BookingStatus.APPROVED, BookingStatus.REJECTED), LocalDateTime.now());
+                        List.of(BookingStatus.APPROVED, BookingStatus.REJECTED), LocalDateTime.now(),
+                        after.getTimestamp(), after.getId());
                 break;
             case "PAST":
-                bookings = bookingRepository.findPastBookingsOfUser(pageable, userId,
-                        LocalDateTime.now());
+                bookings = bookingRepository.findPastBookingsOfUser(pageable, userId, LocalDateTime.now(),
+                        after.getTimestamp(), after.getId());
                 break;
             case "FUTURE":
-                bookings = bookingRepository.findFutureBookingsOfUser(pageable, userId, LocalDateTime.now());
+                bookings = bookingRepository.findFutureBookingsOfUser(pageable, userId, LocalDateTime.now(),
+                        after.getTimestamp(), after.getId());
                 break;
             case "WAITING":
-                bookings = bookingRepository.findWaitingOrRejectedBookingsOfUser(pageable, userId, BookingStatus.WAITING);
+                bookings = bookingRepository.findWaitingOrRejectedBookingsOfUser(pageable, userId, BookingStatus.WAITING,
+                        after.getTimestamp(), after.getId());
                 break;
             case "REJECTED":
-                bookings = bookingRepository.findWaitingOrRejectedBookingsOfUser(pageable, userId, BookingStatus.REJECTED);
+                bookings = bookingRepository.findWaitingOrRejectedBookingsOfUser(pageable, userId, BookingStatus.REJECTED,
+                        after.getTimestamp(), after.getId());
                 break;
             default:
                 throw new NoSuchStateForBookingSearchException("Unknown state: UNSUPPORTED_STATUS");
         }
-        return BookingMapper.toSavedBookingDtoList(bookings);
+        return CursorPage.of(BookingMapper.toSavedBookingDtoList(bookings), size,
+                booking -> PageCursor.of(state.equals("ALL") ? booking.getEnd() : booking.getStart(), booking.getId()))
+                .withETag(bookingsTag("bookings", bookings));
     }
 
     @Override
-    public List<SavedBookingDto> getBookingsOfItemsOwner(long from, long size, String state, long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("Пользователь не найден"));
+    public CursorPage<SavedBookingDto> getBookingsOfItemsOwner(long from, long size, String state, long userId, String cursor) {
+        userExistenceIndex.requireExists(userId);
         List<Booking> bookings;
-        List<Long> itemsIds = bookingRepository.getItemsIdsOfOwner(userId);
-        if (itemsIds.isEmpty()) {
-            return null;
-        }
-
-        Pageable pageable = PageRequest.of((int) (from / size), (int) size);
+        Pageable pageable = OffsetPageRequest.of(from, size, cursor);
+        PageCursor after = PageCursor.decode(cursor, PageCursor.LATEST);
 
         switch (state) {
             case "ALL":
-                bookings = bookingRepository.findAllByItemsIds(pageable, itemsIds);
+                bookings = bookingRepository.findAllBookingsOfItemsOwner(pageable, userId,
+                        after.getTimestamp(), after.getId());
                 break;
             case "CURRENT":
-                bookings = bookingRepository.findCurrentBookingsOfItemsOwner(pageable, itemsIds,
-                        List.of(BookingStatus.APPROVED, BookingStatus.REJECTED), LocalDateTime.now());
+                bookings = bookingRepository.findCurrentBookingsOfItemsOwner(pageable, userId,
+                        List.of(BookingStatus.APPROVED, BookingStatus.REJECTED), LocalDateTime.now(),
+                        after.getTimestamp(), after.getId());
                 break;
             case "PAST":
-                bookings = bookingRepository.findPastBookingsOfItemsOwner(pageable, itemsIds, LocalDateTime.now());
+                bookings = bookingRepository.findPastBookingsOfItemsOwner(pageable, userId, LocalDateTime.now(),
+                        after.getTimestamp(), after.getId());
                 break;
             case "FUTURE":
-                bookings = bookingRepository.findFutureBookingsOfItemsOwner(pageable, itemsIds, LocalDateTime.now());
+                bookings = bookingRepository.findFutureBookingsOfItemsOwner(pageable, userId, LocalDateTime.now(),
+                        after.getTimestamp(), after.getId());
                 break;
             case "WAITING":
-                bookings = bookingRepository.findWaitingOrRejectedBookingsOfItemsOwner(pageable, itemsIds, BookingStatus.WAITING);
+                bookings = bookingRepository.findWaitingOrRejectedBookingsOfItemsOwner(pageable, userId, BookingStatus.WAITING,
+                        after.getTimestamp(), after.getId());
                 break;
             case "REJECTED":
-                bookings = bookingRepository.findWaitingOrRejectedBookingsOfItemsOwner(pageable, itemsIds, BookingStatus.REJECTED);
+                bookings = bookingRepository.findWaitingOrRejectedBookingsOfItemsOwner(pageable, userId, BookingStatus.REJECTED,
+                        after.getTimestamp(), after.getId());
                 break;
             default:
                 throw new NoSuchStateForBookingSearchException("Unknown state: UNSUPPORTED_STATUS");
         }
-        return BookingMapper.toSavedBookingDtoList(bookings);
+        return CursorPage.of(BookingMapper.toSavedBookingDtoList(bookings), size,
+                booking -> PageCursor.of(booking.getStart(), booking.getId()))
+                .withETag(bookingsTag("owner-bookings", bookings));
     }
 
     @Override
@@ -126,11 +145,20 @@ public class BookingServiceImpl implements BookingService {
         if (bookingToSave.getItem().getOwner().getId() == userId) {
             throw new ItemNotFoundException("Нельзя взять вещь у самого себя");
         }
+        long itemId = bookingToSave.getItem().getId();
+        LocalDateTime start = bookingToSave.getStart();
+        LocalDateTime end = bookingToSave.getEnd();
+        if (itemBookingIntervals.overlaps(itemId, start, end)
+                || bookingRepository.existsApprovedOverlap(itemId, start, end, 0)) {
+            throw new BookingOverlapException("Вещь уже забронирована на это время");
+        }
         bookingToSave.setBooker(userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("Пользователь не найден")));
         bookingToSave.setStatus(BookingStatus.WAITING);
 
         Booking savedBooking = bookingRepository.save(bookingToSave);
+        itemBookingSummaryService.onBookingCreated(savedBooking);
+        itemOccupancyIndex.occupyAfterCommit(savedBooking);
         User booker = savedBooking.getBooker();
         Item item = savedBooking.getItem();
         SavedBookingDto bookingToReturn = BookingMapper.toSavedBookingDto(savedBooking);
@@ -143,6 +171,8 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public SavedBookingDto updateBooking(long bookingId, long userId, boolean isApproved) {
+        bookingRepository.findForUpdate(bookingId)
+                .orElseThrow(() -> new BookingNotFoundException("Бронирование не найдено"));
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Бронирование не найдено"));
         Item item = booking.getItem();
@@ -154,15 +184,36 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingAlreadyApprovedException("Бронирование уже подтверждено");
         }
         if (isApproved) {
+            itemRepository.findForUpdate(item.getId());
+            if (bookingRepository.existsApprovedOverlap(item.getId(), booking.getStart(), booking.getEnd(),
+                    booking.getId())) {
+                throw new BookingOverlapException("Вещь уже забронирована на это время");
+            }
             booking.setStatus(BookingStatus.APPROVED);
+            itemBookingIntervals.evictAfterCommit(item.getId());
         } else {
             booking.setStatus(BookingStatus.REJECTED);
         }
         Booking savedBooking = bookingRepository.save(booking);
+        if (savedBooking.getStatus() == BookingStatus.APPROVED) {
+            itemBookingSummaryService.onBookingApproved(savedBooking);
+            itemOccupancyIndex.occupyAfterCommit(savedBooking);
+        } else {
+            itemOccupancyIndex.releaseAfterCommit(savedBooking);
+        }
         SavedBookingDto bookingToReturn = BookingMapper.toSavedBookingDto(savedBooking);
         bookingToReturn.setBooker(UserMapper.toUserBookingDto(booker));
         bookingToReturn.setItem(ItemMapper.toItemBookingDto(item));
 
         return bookingToReturn;
     }
-}
\ No newline at end of file
+
+    private static EntityTag bookingsTag(String kind, List<Booking> bookings) {
+        EntityTag tag = EntityTag.of(kind).with(bookings.size());
+        for (Booking booking : bookings) {
+            tag.with(booking.getId()).with(booking.getVersion())
+                    .with(booking.getItem().getId()).with(booking.getItem().getVersion());
+        }
+        return tag;
+    }
+}
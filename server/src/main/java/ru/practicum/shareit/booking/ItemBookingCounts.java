@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking;
+
+public interface ItemBookingCounts {
+    Long getItemId();
+
+    Long getBookingsCount();
+
+    Long getApprovedCount();
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.AfterCommit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+@Component
+public class ItemBookingIntervals {
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ApprovedIntervals> intervals;
+
+    public ItemBookingIntervals(BookingRepository bookingRepository,
+                                @Value("${shareit.booking-intervals.maximum-size:10000}") long maximumSize,
+                                @Value("${shareit.booking-intervals.expire-after-access:PT10M}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.intervals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(ttl)
+                .build();
+    }
+
+    public boolean overlaps(long itemId, LocalDateTime start, LocalDateTime end) {
+        return intervals.get(itemId, this::load).overlaps(start, end);
+    }
+
+    public void evictAfterCommit(long itemId) {
+        AfterCommit.run(() -> intervals.invalidate(itemId));
+    }
+
+    public void evictAllAfterCommit() {
+        AfterCommit.run(intervals::invalidateAll);
+    }
+
+    private ApprovedIntervals load(long itemId) {
+        ApprovedIntervals approvedIntervals = new ApprovedIntervals();
+        bookingRepository.findApprovedIntervals(itemId, LocalDateTime.now())
+                .forEach(interval -> approvedIntervals.add(interval.getStart(), interval.getEnd()));
+        return approvedIntervals;
+    }
+
+    protected static class ApprovedIntervals {
+        private final NavigableMap<LocalDateTime, LocalDateTime> endsByStart = new TreeMap<>();
+
+        protected synchronized boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            if (!end.isAfter(start)) {
+                return false;
+            }
+            Map.Entry<LocalDateTime, LocalDateTime> previous = endsByStart.lowerEntry(end);
+            return previous != null && previous.getValue().isAfter(start);
+        }
+
+        protected synchronized void add(LocalDateTime start, LocalDateTime end) {
+            if (!end.isAfter(start)) {
+                return;
+            }
+            Map.Entry<LocalDateTime, LocalDateTime> previous = endsByStart.floorEntry(start);
+            if (previous != null && !previous.getValue().isBefore(start)) {
+                start = previous.getKey();
+            }
+            Map.Entry<LocalDateTime, LocalDateTime> next = endsByStart.ceilingEntry(start);
+            while (next != null && !next.getKey().isAfter(end)) {
+                if (next.getValue().isAfter(end)) {
+                    end = next.getValue();
+                }
+                endsByStart.remove(next.getKey());
+                next = endsByStart.higherEntry(next.getKey());
+            }
+            endsByStart.put(start, end);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "item_booking_summary")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBookingSummary {
+    @Id
+    @Column(name = "item_id")
+    private long itemId;
+
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+
+    @Column(name = "last_booker_id")
+    private Long lastBookerId;
+
+    @Column(name = "last_start_date")
+    private LocalDateTime lastStart;
+
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+
+    @Column(name = "next_booker_id")
+    private Long nextBookerId;
+
+    @Column(name = "next_start_date")
+    private LocalDateTime nextStart;
+
+    @Column(name = "bookings_count")
+    private long bookingsCount;
+
+    @Column(name = "approved_count")
+    private long approvedCount;
+
+    public boolean isActualAt(LocalDateTime now) {
+        return nextStart == null || nextStart.isAfter(now);
+    }
+
+    public void setLast(Long bookingId, Long bookerId, LocalDateTime start) {
+        this.lastBookingId = bookingId;
+        this.lastBookerId = bookerId;
+        this.lastStart = start;
+    }
+
+    public void setNext(Long bookingId, Long bookerId, LocalDateTime start) {
+        this.nextBookingId = bookingId;
+        this.nextBookerId = bookerId;
+        this.nextStart = start;
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ItemBookingSummary s WHERE s.itemId = ?1")
+    Optional<ItemBookingSummary> findForUpdate(long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ItemBookingSummary s WHERE s.itemId IN (?1)")
+    List<ItemBookingSummary> findAllForUpdate(List<Long> itemsIds);
+
+    @Query("SELECT s.itemId FROM ItemBookingSummary s WHERE s.nextStart <= ?1 ORDER BY s.nextStart")
+    List<Long> findStaleItemsIds(LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT i.id FROM Item i WHERE NOT EXISTS " +
+            "(SELECT s.itemId FROM ItemBookingSummary s WHERE s.itemId = i.id) ORDER BY i.id")
+    List<Long> findItemsIdsWithoutSummary(Pageable pageable);
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class ItemBookingSummaryService {
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    private final BookingRepository bookingRepository;
+
+    @Value("${shareit.booking-summary.reconcile-batch-size:500}")
+    private int reconcileBatchSize = 500;
+
+    public List<ItemNearestBooking> findNearestBookings(List<Long> itemsIds) {
+        if (itemsIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<ItemNearestBooking> nearestBookings = new ArrayList<>();
+        Set<Long> staleItemsIds = new LinkedHashSet<>(itemsIds);
+
+        for (ItemBookingSummary summary : itemBookingSummaryRepository.findAllById(itemsIds)) {
+            if (!summary.isActualAt(now)) {
+                continue;
+            }
+            staleItemsIds.remove(summary.getItemId());
+            if (summary.getLastBookingId() != null) {
+                nearestBookings.add(new SummaryBooking(summary.getItemId(), summary.getLastBookingId(),
+                        summary.getLastBookerId(), summary.getLastStart(), ItemNearestBooking.LAST));
+            }
+            if (summary.getNextBookingId() != null) {
+                nearestBookings.add(new SummaryBooking(summary.getItemId(), summary.getNextBookingId(),
+                        summary.getNextBookerId(), summary.getNextStart(), ItemNearestBooking.NEXT));
+            }
+        }
+        if (!staleItemsIds.isEmpty()) {
+            nearestBookings.addAll(bookingRepository.findNearestItemsBookings(new ArrayList<>(staleItemsIds), now));
+        }
+
+        return nearestBookings;
+    }
+
+    @Transactional
+    public void initialize(long itemId) {
+        itemBookingSummaryRepository.save(ItemBookingSummary.builder().itemId(itemId).build());
+    }
+
+    @Transactional
+    public void onBookingCreated(Booking booking) {
+        Optional<ItemBookingSummary> summary = itemBookingSummaryRepository.findForUpdate(booking.getItem().getId());
+        if (summary.isEmpty()) {
+            refresh(List.of(booking.getItem().getId()));
+            return;
+        }
+        summary.get().setBookingsCount(summary.get().getBookingsCount() + 1);
+        itemBookingSummaryRepository.save(summary.get());
+    }
+
+    @Transactional
+    public void onBookingApproved(Booking booking) {
+        Optional<ItemBookingSummary> summary = itemBookingSummaryRepository.findForUpdate(booking.getItem().getId());
+        if (summary.isEmpty()) {
+            refresh(List.of(booking.getItem().getId()));
+            return;
+        }
+        ItemBookingSummary summaryToUpdate = summary.get();
+        summaryToUpdate.setApprovedCount(summaryToUpdate.getApprovedCount() + 1);
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = booking.getStart();
+        if (start.isBefore(now)) {
+            if (summaryToUpdate.getLastStart() == null || start.isAfter(summaryToUpdate.getLastStart())) {
+                summaryToUpdate.setLast(booking.getId(), booking.getBooker().getId(), start);
+            }
+        } else if (start.isAfter(now)) {
+            if (summaryToUpdate.getNextStart() == null || start.isBefore(summaryToUpdate.getNextStart())) {
+                summaryToUpdate.setNext(booking.getId(), booking.getBooker().getId(), start);
+            }
+        }
+        itemBookingSummaryRepository.save(summaryToUpdate);
+    }
+
+    public List<Long> findItemsIdsBookedBy(long bookerId) {
+        return bookingRepository.findItemsIdsBookedBy(bookerId);
+    }
+
+    @Transactional
+    public void onBookingsDeleted(List<Long> itemsIds) {
+        for (int from = 0; from < itemsIds.size(); from += reconcileBatchSize) {
+            refresh(itemsIds.subList(from, Math.min(from + reconcileBatchSize, itemsIds.size())));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking-summary.reconcile-initial-delay:0}",
+            fixedDelayString = "${shareit.booking-summary.reconcile-delay:60000}")
+    @Transactional
+    public void reconcile() {
+        Pageable batch = PageRequest.of(0, reconcileBatchSize);
+        List<Long> itemsIds = new ArrayList<>(itemBookingSummaryRepository.findStaleItemsIds(LocalDateTime.now(), batch));
+        itemsIds.addAll(itemBookingSummaryRepository.findItemsIdsWithoutSummary(batch));
+        if (itemsIds.isEmpty()) {
+            return;
+        }
+        refresh(itemsIds);
+        log.info("Пересчитаны сводки бронирований вещей: {}", itemsIds.size());
+    }
+
+    protected void refresh(List<Long> itemsIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemBookingSummary> summaries = itemBookingSummaryRepository.findAllForUpdate(itemsIds).stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        itemsIds.forEach(itemId -> summaries.computeIfAbsent(itemId,
+                id -> ItemBookingSummary.builder().itemId(id).build()));
+
+        summaries.values().forEach(summary -> {
+            summary.setLast(null, null, null);
+            summary.setNext(null, null, null);
+            summary.setBookingsCount(0);
+            summary.setApprovedCount(0);
+        });
+        for (ItemBookingCounts counts : bookingRepository.countItemsBookings(itemsIds)) {
+            ItemBookingSummary summary = summaries.get(counts.getItemId());
+            summary.setBookingsCount(counts.getBookingsCount());
+            summary.setApprovedCount(counts.getApprovedCount());
+        }
+        for (ItemNearestBooking booking : bookingRepository.findNearestItemsBookings(itemsIds, now)) {
+            ItemBookingSummary summary = summaries.get(booking.getItemId());
+            if (ItemNearestBooking.LAST.equals(booking.getKind())) {
+                summary.setLast(booking.getId(), booking.getBookerId(), booking.getStart());
+            } else {
+                summary.setNext(booking.getId(), booking.getBookerId(), booking.getStart());
+            }
+        }
+
+        itemBookingSummaryRepository.saveAll(summaries.values());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class SummaryBooking implements ItemNearestBooking {
+        private final Long itemId;
+        private final Long id;
+        private final Long bookerId;
+        private final LocalDateTime start;
+        private final String kind;
+    }
+}
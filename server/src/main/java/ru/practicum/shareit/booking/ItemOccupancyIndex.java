@@ -0,0 +1,184 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.AfterCommit;
+import ru.practicum.shareit.item.AvailabilityIntervalDto;
+import ru.practicum.shareit.item.ItemAvailabilityDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Component
+public class ItemOccupancyIndex {
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, Occupancy> occupancies;
+    private final Duration retention;
+
+    public ItemOccupancyIndex(BookingRepository bookingRepository,
+                              @Value("${shareit.occupancy.maximum-size:10000}") long maximumSize,
+                              @Value("${shareit.occupancy.expire-after-access:PT30M}") Duration ttl,
+                              @Value("${shareit.occupancy.retention:P1D}") Duration retention) {
+        this.bookingRepository = bookingRepository;
+        this.occupancies = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(ttl)
+                .build();
+        this.retention = retention;
+    }
+
+    public ItemAvailabilityDto getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        List<AvailabilityIntervalDto> busy = occupancy(itemId, from, to).busy(from, to);
+        List<AvailabilityIntervalDto> free = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        for (AvailabilityIntervalDto interval : busy) {
+            if (interval.getStart().isAfter(freeFrom)) {
+                free.add(new AvailabilityIntervalDto(freeFrom, interval.getStart()));
+            }
+            freeFrom = interval.getEnd();
+        }
+        if (freeFrom.isBefore(to)) {
+            free.add(new AvailabilityIntervalDto(freeFrom, to));
+        }
+
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(busy)
+                .free(free)
+                .build();
+    }
+
+    public void occupyAfterCommit(Booking booking) {
+        long itemId = booking.getItem().getId();
+        long bookingId = booking.getId();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        AfterCommit.run(() -> occupancies.asMap().computeIfPresent(itemId, (id, occupancy) -> {
+            occupancy.add(bookingId, start, end);
+            return occupancy;
+        }));
+    }
+
+    public void releaseAfterCommit(Booking booking) {
+        long itemId = booking.getItem().getId();
+        long bookingId = booking.getId();
+        AfterCommit.run(() -> occupancies.asMap().computeIfPresent(itemId, (id, occupancy) -> {
+            occupancy.remove(bookingId);
+            return occupancy;
+        }));
+    }
+
+    public void evictAllAfterCommit() {
+        AfterCommit.run(occupancies::invalidateAll);
+    }
+
+    private Occupancy occupancy(long itemId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime horizon = LocalDateTime.now().minus(retention);
+        if (from.isBefore(horizon)) {
+            Occupancy period = new Occupancy(from);
+            bookingRepository.findOccupiedIntervals(itemId, from, to)
+                    .forEach(interval -> period.add(interval.getId(), interval.getStart(), interval.getEnd()));
+            return period;
+        }
+        Occupancy occupancy = occupancies.get(itemId, id -> load(id, horizon));
+        occupancy.prune(horizon);
+        return occupancy;
+    }
+
+    private Occupancy load(long itemId, LocalDateTime horizon) {
+        Occupancy occupancy = new Occupancy(horizon);
+        bookingRepository.findOccupiedIntervals(itemId, horizon)
+                .forEach(interval -> occupancy.add(interval.getId(), interval.getStart(), interval.getEnd()));
+        return occupancy;
+    }
+
+    protected static class Occupancy {
+        private final Map<Long, Slot> slotsByBookingId = new HashMap<>();
+        private final NavigableMap<LocalDateTime, Set<Long>> bookingIdsByStart = new TreeMap<>();
+        private final NavigableMap<LocalDateTime, Set<Long>> bookingIdsByEnd = new TreeMap<>();
+        private LocalDateTime horizon;
+
+        protected Occupancy(LocalDateTime horizon) {
+            this.horizon = horizon;
+        }
+
+        protected synchronized void add(long bookingId, LocalDateTime start, LocalDateTime end) {
+            remove(bookingId);
+            if (!end.isAfter(start) || !end.isAfter(horizon)) {
+                return;
+            }
+            slotsByBookingId.put(bookingId, new Slot(start, end));
+            bookingIdsByStart.computeIfAbsent(start, s -> new HashSet<>()).add(bookingId);
+            bookingIdsByEnd.computeIfAbsent(end, e -> new HashSet<>()).add(bookingId);
+        }
+
+        protected synchronized void remove(long bookingId) {
+            Slot slot = slotsByBookingId.remove(bookingId);
+            if (slot == null) {
+                return;
+            }
+            unindex(bookingIdsByStart, slot.start, bookingId);
+            unindex(bookingIdsByEnd, slot.end, bookingId);
+        }
+
+        protected synchronized void prune(LocalDateTime before) {
+            if (!before.isAfter(horizon)) {
+                return;
+            }
+            horizon = before;
+            while (!bookingIdsByEnd.isEmpty() && !bookingIdsByEnd.firstKey().isAfter(before)) {
+                new ArrayList<>(bookingIdsByEnd.firstEntry().getValue()).forEach(this::remove);
+            }
+        }
+
+        protected synchronized List<AvailabilityIntervalDto> busy(LocalDateTime from, LocalDateTime to) {
+            if (!to.isAfter(from)) {
+                return Collections.emptyList();
+            }
+            List<Slot> slots = bookingIdsByStart.headMap(to, false).values().stream()
+                    .flatMap(Set::stream)
+                    .map(slotsByBookingId::get)
+                    .filter(slot -> slot.end.isAfter(from))
+                    .collect(Collectors.toList());
+
+            List<AvailabilityIntervalDto> busy = new ArrayList<>();
+            AvailabilityIntervalDto current = null;
+            for (Slot slot : slots) {
+                LocalDateTime start = slot.start.isBefore(from) ? from : slot.start;
+                LocalDateTime end = slot.end.isAfter(to) ? to : slot.end;
+                if (current != null && !start.isAfter(current.getEnd())) {
+                    if (end.isAfter(current.getEnd())) {
+                        current.setEnd(end);
+                    }
+                } else {
+                    current = new AvailabilityIntervalDto(start, end);
+                    busy.add(current);
+                }
+            }
+            return busy;
+        }
+
+        private static void unindex(NavigableMap<LocalDateTime, Set<Long>> index, LocalDateTime key, long bookingId) {
+            index.computeIfPresent(key, (k, bookingIds) -> {
+                bookingIds.remove(bookingId);
+                return bookingIds.isEmpty() ? null : bookingIds;
+            });
+        }
+    }
+
+    private static class Slot {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Slot(LocalDateTime start, LocalDateTime end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
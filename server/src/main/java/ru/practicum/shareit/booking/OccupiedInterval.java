@@ -0,0 +1,5 @@
+package ru.practicum.shareit.booking;
+
+public interface OccupiedInterval extends BookingInterval {
+    Long getId();
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.Item;
+
+import javax.persistence.EntityManagerFactory;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EntityCache {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictAllItems() {
+        AfterCommit.run(() -> {
+            entityManagerFactory.getCache().evict(Item.class);
+            log.info("Кэш вещей очищен");
+        });
+    }
+}
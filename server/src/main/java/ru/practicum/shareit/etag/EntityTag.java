@@ -0,0 +1,45 @@
+package ru.practicum.shareit.etag;
+
+public final class EntityTag {
+    private static final long MULTIPLIER = 31;
+
+    private final String kind;
+    private long hash;
+
+    private EntityTag(String kind) {
+        this.kind = kind;
+        this.hash = kind.hashCode();
+    }
+
+    public static EntityTag of(String kind) {
+        return new EntityTag(kind);
+    }
+
+    public EntityTag with(long value) {
+        hash = mix(hash * MULTIPLIER + value);
+        return this;
+    }
+
+    public EntityTag with(boolean value) {
+        return with(value ? 1 : 0);
+    }
+
+    public EntityTag with(String value) {
+        return with(value == null ? 0 : value.hashCode());
+    }
+
+    public String value() {
+        return "\"" + kind + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    @Override
+    public String toString() {
+        return value();
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.etag;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.http.ResponseEntity;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+public class Tagged<T> {
+    private final T content;
+    private final String etag;
+
+    public static <T> Tagged<T> of(T content, EntityTag tag) {
+        return new Tagged<>(content, tag.value());
+    }
+
+    public ResponseEntity<T> toResponseEntity() {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(content);
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.ids;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+@Configuration
+@Slf4j
+public class IdSequenceConfig {
+    public static final String USERS_SEQUENCE = "users";
+    public static final String ITEMS_SEQUENCE = "items";
+    public static final String REQUESTS_SEQUENCE = "requests";
+    public static final String BOOKINGS_SEQUENCE = "bookings";
+    public static final String COMMENTS_SEQUENCE = "comments";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private static final List<String> SEQUENCES = List.of(USERS_SEQUENCE, ITEMS_SEQUENCE, REQUESTS_SEQUENCE,
+            BOOKINGS_SEQUENCE, COMMENTS_SEQUENCE);
+
+    public static String allocationSizeProperty(String sequence) {
+        return "shareit.ids." + sequence + ".allocation-size";
+    }
+
+    public static String sequenceName(String sequence) {
+        return sequence + "_seq";
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer idAllocationSizeCustomizer(Environment environment) {
+        return properties -> SEQUENCES.forEach(sequence -> properties.put(allocationSizeProperty(sequence),
+                allocationSize(environment, sequence)));
+    }
+
+    @Bean
+    public FlywayMigrationStrategy idSequenceAligningMigrationStrategy(Environment environment) {
+        return flyway -> {
+            flyway.migrate();
+            DataSource dataSource = flyway.getConfiguration().getDataSource();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            String nextValueQuery = "PostgreSQL".equals(databaseName(dataSource))
+                    ? "SELECT nextval('%s')" : "SELECT NEXT VALUE FOR %s";
+            SEQUENCES.forEach(sequence -> alignIncrement(jdbcTemplate, nextValueQuery, sequence,
+                    allocationSize(environment, sequence)));
+        };
+    }
+
+    private static void alignIncrement(JdbcTemplate jdbcTemplate, String nextValueQuery, String sequence,
+                                       int allocationSize) {
+        String sequenceName = sequenceName(sequence);
+        Long increment = jdbcTemplate.queryForObject("SELECT increment FROM information_schema.sequences " +
+                "WHERE LOWER(sequence_name) = ?", Long.class, sequenceName);
+        if (increment == null || increment == allocationSize) {
+            return;
+        }
+
+        Long nextValue = jdbcTemplate.queryForObject(String.format(nextValueQuery, sequenceName), Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequenceName + " RESTART WITH " + nextValue
+                + " INCREMENT BY " + allocationSize);
+        log.info("Шаг последовательности {} изменен с {} на {}", sequenceName, increment, allocationSize);
+    }
+
+    private static int allocationSize(Environment environment, String sequence) {
+        return environment.getProperty(allocationSizeProperty(sequence), Integer.class, DEFAULT_ALLOCATION_SIZE);
+    }
+
+    private static String databaseName(DataSource dataSource) {
+        try {
+            return JdbcUtils.commonDatabaseName(JdbcUtils.extractDatabaseMetaData(dataSource,
+                    DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Не удалось определить тип базы данных", e);
+        }
+    }
+}
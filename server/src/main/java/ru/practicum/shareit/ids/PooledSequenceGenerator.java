@@ -0,0 +1,28 @@
+package ru.practicum.shareit.ids;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+    public static final String STRATEGY = "ru.practicum.shareit.ids.PooledSequenceGenerator";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        String sequence = params.getProperty(IdentifierGenerator.GENERATOR_NAME);
+        Object allocationSize = serviceRegistry.getService(ConfigurationService.class).getSettings()
+                .get(IdSequenceConfig.allocationSizeProperty(sequence));
+
+        params.setProperty(SEQUENCE_PARAM, IdSequenceConfig.sequenceName(sequence));
+        params.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize != null
+                ? allocationSize : IdSequenceConfig.DEFAULT_ALLOCATION_SIZE));
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
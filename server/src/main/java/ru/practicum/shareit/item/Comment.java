@@ -1,20 +1,27 @@
 package ru.practicum.shareit.item;
 
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import ru.practicum.shareit.ids.IdSequenceConfig;
+import ru.practicum.shareit.ids.PooledSequenceGenerator;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@NamedEntityGraph(name = Comment.AUTHOR_GRAPH, attributeNodes = @NamedAttributeNode("author"))
 @Table(name = "comments")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Comment {
+    public static final String AUTHOR_GRAPH = "Comment.author";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = IdSequenceConfig.COMMENTS_SEQUENCE)
+    @GenericGenerator(name = IdSequenceConfig.COMMENTS_SEQUENCE, strategy = PooledSequenceGenerator.STRATEGY)
     private long id;
     private String text;
 
@@ -1,11 +1,13 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.id in (?1)")
+    @EntityGraph(Comment.AUTHOR_GRAPH)
+    @Query("SELECT c FROM Comment c WHERE c.item.id in (?1)")
     List<Comment> findAllByItemsIds(List<Long> itemsIds);
 }
@@ -1,20 +1,31 @@
 package ru.practicum.shareit.item;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import ru.practicum.shareit.cache.EntityCacheConfig;
+import ru.practicum.shareit.ids.IdSequenceConfig;
+import ru.practicum.shareit.ids.PooledSequenceGenerator;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
 
 @Entity
+@NamedEntityGraph(name = Item.OWNER_GRAPH, attributeNodes = @NamedAttributeNode("owner"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.ITEMS_REGION)
 @Table(name = "items")
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class Item {
+    public static final String OWNER_GRAPH = "Item.owner";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = IdSequenceConfig.ITEMS_SEQUENCE)
+    @GenericGenerator(name = IdSequenceConfig.ITEMS_SEQUENCE, strategy = PooledSequenceGenerator.STRATEGY)
     private long id;
     private String name;
     private String description;
@@ -31,5 +42,8 @@ public class Item {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     private ItemRequest request;
+
+    @Version
+    private long version;
 }
 
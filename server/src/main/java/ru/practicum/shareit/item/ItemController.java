@@ -1,9 +1,17 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -12,20 +20,30 @@ import java.util.List;
 @Slf4j
 public class ItemController {
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/{itemId}")
-    public ItemDto getItemById(@PathVariable long itemId,
-                               @RequestHeader("X-Sharer-User-Id") long userId) {
+    public ResponseEntity<ItemDto> getItemById(@PathVariable long itemId,
+                                               @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("получен запрос на получение вещи с id " + itemId);
-        return itemService.getItemById(itemId, userId);
+        return itemService.getItemById(itemId, userId).toResponseEntity();
     }
 
     @GetMapping()
-    public List<ItemDto> getAllItemsOfUser(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @RequestParam(defaultValue = "0") long from,
-                                           @RequestParam(defaultValue = "20") long size) {
+    public ResponseEntity<List<ItemDto>> getAllItemsOfUser(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                           @RequestParam(defaultValue = "0") long from,
+                                                           @RequestParam(defaultValue = "20") long size,
+                                                           @RequestParam(defaultValue = "") String cursor) {
         log.info("получен запрос на получение всех вещей пользователя с id " + userId);
-        return itemService.getAllItemsOfUser(from, size, userId);
+        return itemService.getAllItemsOfUser(from, size, userId, cursor).toResponseEntity();
+    }
+
+    @GetMapping(params = "ids")
+    public List<ItemDto> getItemsByIds(@RequestHeader("X-Sharer-User-Id") long userId,
+                                       @RequestParam List<Long> ids) {
+        log.info("получен запрос на получение вещей с id " + ids);
+        return itemService.getItemsByIds(ids, userId);
     }
 
     @PostMapping
@@ -35,6 +53,15 @@ public class ItemController {
         return itemService.saveNewItem(itemDto, userId);
     }
 
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ItemImportResult importItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                        InputStream body) throws IOException {
+        log.info("получен запрос на импорт вещей пользователю с id " + userId);
+        try (MappingIterator<ItemDto> items = objectMapper.readerFor(ItemDto.class).readValues(body)) {
+            return itemImportService.importItems(items, userId);
+        }
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestBody ItemDto itemDto,
                               @PathVariable long itemId,
@@ -44,11 +71,24 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam String text,
-                                     @RequestParam(defaultValue = "0") long from,
-                                     @RequestParam(defaultValue = "20") long size) {
-        log.info("получен запрос на поиск вещей по запросу: " + text);
-        return itemService.searchItems(from, size, text);
+    public ResponseEntity<List<ItemDto>> searchItems(@RequestParam String text,
+                                                     @RequestParam(defaultValue = "0") long from,
+                                                     @RequestParam(defaultValue = "20") long size,
+                                                     @RequestParam(defaultValue = "TOKEN") ItemSearchMode mode,
+                                                     @RequestParam(defaultValue = "") String cursor) {
+        log.info("получен запрос на поиск вещей по запросу: " + text + ", режим поиска " + mode);
+        return itemService.searchItems(from, size, text, mode, cursor).toResponseEntity();
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getItemAvailability(@PathVariable long itemId,
+                                                   @RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime to) {
+        log.info("получен запрос на получение занятости вещи с id " + itemId + " с " + from + " по " + to);
+        return itemService.getItemAvailability(itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
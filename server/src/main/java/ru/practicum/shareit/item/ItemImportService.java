@@ -0,0 +1,130 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemImportService {
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${shareit.items.import-chunk-size:500}")
+    private int chunkSize = 500;
+
+    public ItemImportResult importItems(Iterator<ItemDto> items, long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("Пользователь не найден");
+        }
+
+        ItemImportResult result = new ItemImportResult();
+        List<ImportRow> chunk = new ArrayList<>();
+        long index = 0;
+        while (hasNext(items, index, result)) {
+            try {
+                chunk.add(new ImportRow(index, items.next()));
+            } catch (RuntimeJsonMappingException e) {
+                result.getErrors().add(new ItemImportError(index, "Некорректная запись: " + e.getMessage()));
+            }
+            index++;
+
+            if (chunk.size() >= chunkSize) {
+                saveChunk(chunk, userId, result);
+                chunk = new ArrayList<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, userId, result);
+        }
+
+        log.info("Импортировано вещей пользователю с id {}: {}, ошибок: {}", userId, result.getImported(),
+                result.getErrors().size());
+        return result;
+    }
+
+    private static boolean hasNext(Iterator<ItemDto> items, long index, ItemImportResult result) {
+        try {
+            return items.hasNext();
+        } catch (RuntimeException e) {
+            result.getErrors().add(new ItemImportError(index, "Некорректный JSON, импорт остановлен: "
+                    + e.getMessage()));
+            return false;
+        }
+    }
+
+    private void saveChunk(List<ImportRow> rows, long userId, ItemImportResult result) {
+        List<ItemImportError> errors = new ArrayList<>();
+        List<Item> savedItems;
+        try {
+            savedItems = transactionTemplate.execute(status -> persistChunk(rows, userId, errors));
+        } catch (DataAccessException e) {
+            if (rows.size() == 1) {
+                result.getErrors().add(new ItemImportError(rows.get(0).getIndex(),
+                        "Вещь не сохранена: " + e.getMostSpecificCause().getMessage()));
+                return;
+            }
+            log.warn("Пакет из {} вещей не сохранен, повтор по одной вещи: {}", rows.size(), e.getMessage());
+            rows.forEach(row -> saveChunk(List.of(row), userId, result));
+            return;
+        }
+
+        savedItems.forEach(itemSearchIndex::index);
+        result.setImported(result.getImported() + savedItems.size());
+        result.getErrors().addAll(errors);
+    }
+
+    private List<Item> persistChunk(List<ImportRow> rows, long userId, List<ItemImportError> errors) {
+        User owner = userRepository.getReferenceById(userId);
+        Set<Long> requestsIds = rows.stream()
+                .map(row -> row.getItemDto().getRequestId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requestsById = requestsIds.isEmpty() ? Collections.emptyMap()
+                : itemRequestRepository.findAllById(requestsIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        List<Item> items = new ArrayList<>();
+        for (ImportRow row : rows) {
+            Item item = ItemMapper.toItem(row.getItemDto());
+            item.setOwner(owner);
+            Long requestId = row.getItemDto().getRequestId();
+            if (requestId != null) {
+                ItemRequest request = requestsById.get(requestId);
+                if (request == null) {
+                    errors.add(new ItemImportError(row.getIndex(), "Запрос на вещь не найден"));
+                    continue;
+                }
+                item.setRequest(request);
+            }
+            items.add(item);
+        }
+        return itemRepository.saveAllAndFlush(items);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class ImportRow {
+        private final long index;
+        private final ItemDto itemDto;
+    }
+}
@@ -1,29 +1,34 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    @Query("select i From Item i JOIN FETCH i.owner where i.id = ?1")
-    Optional<Item> findById(long itemId);
-
-    @Query("select i From Item i JOIN FETCH i.owner where i.owner.id = ?1 ORDER BY i.id ASC")
-    List<Item> findAllByOwnerId(Pageable pageable, long userId);
+    @EntityGraph(Item.OWNER_GRAPH)
+    @Query("select i From Item i where i.owner.id = ?1 AND i.id > ?2 ORDER BY i.id ASC")
+    List<Item> findAllByOwnerId(Pageable pageable, long userId, long idAfter);
 
     Optional<Item> findByIdAndOwnerId(long id, long userId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> findForUpdate(long itemId);
+
     @Query("select i From Item i " +
-            "where upper(i.name) like upper('%' || ?1 || '%') " +
-            "or upper(i.description) like upper('%' || ?1 || '%') " +
-            "and i.available = true")
-    Page<Item> searchItems(Pageable pageable, String text);
+            "where i.available = true " +
+            "and (lower(i.name) like lower('%' || ?1 || '%') " +
+            "or lower(i.description) like lower('%' || ?1 || '%')) " +
+            "and i.id > ?2 ORDER BY i.id ASC")
+    List<Item> searchItems(Pageable pageable, String text, long idAfter);
 
     @Query("SELECT i FROM Item i JOIN FETCH i.request WHERE i.request.id = ?1")
     List<Item> findAllByRequestId(long requestId);
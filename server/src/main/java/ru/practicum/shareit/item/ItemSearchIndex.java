@@ -0,0 +1,227 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int TRIGRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+
+    private final ConcurrentNavigableMap<String, Set<Long>> nameIndex = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<String, Set<Long>> descriptionIndex = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<Long>> trigramIndex = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedItem> indexedItems = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Item> items = itemRepository.findAll();
+        items.forEach(this::index);
+        log.info("Поисковый индекс построен, вещей в индексе: {}", indexedItems.size());
+    }
+
+    public synchronized void index(Item item) {
+        remove(item.getId());
+
+        IndexedItem indexedItem = new IndexedItem(fold(item.getName()), fold(item.getDescription()),
+                Boolean.TRUE.equals(item.getAvailable()), item.getOwner() == null ? null : item.getOwner().getId());
+        indexedItem.nameTokens.forEach(token -> addPosting(nameIndex, token, item.getId()));
+        indexedItem.descriptionTokens.forEach(token -> addPosting(descriptionIndex, token, item.getId()));
+        indexedItem.trigrams.forEach(trigram -> addPosting(trigramIndex, trigram, item.getId()));
+        indexedItems.put(item.getId(), indexedItem);
+    }
+
+    public synchronized void remove(long itemId) {
+        IndexedItem indexedItem = indexedItems.remove(itemId);
+        if (indexedItem == null) {
+            return;
+        }
+        indexedItem.nameTokens.forEach(token -> removePosting(nameIndex, token, itemId));
+        indexedItem.descriptionTokens.forEach(token -> removePosting(descriptionIndex, token, itemId));
+        indexedItem.trigrams.forEach(trigram -> removePosting(trigramIndex, trigram, itemId));
+    }
+
+    public synchronized void removeByOwner(long ownerId) {
+        List<Long> ownerItemsIds = indexedItems.entrySet().stream()
+                .filter(e -> Objects.equals(e.getValue().ownerId, ownerId))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        ownerItemsIds.forEach(this::remove);
+    }
+
+    public CursorPage<Long> search(String text, long from, long size, PageCursor after) {
+        Set<String> queryTokens = tokenize(text);
+        if (queryTokens.isEmpty()) {
+            return CursorPage.empty();
+        }
+
+        Map<Long, Integer> scores = null;
+        for (String token : queryTokens) {
+            Map<Long, Integer> tokenScores = new HashMap<>();
+            collectPostings(nameIndex, token, NAME_WEIGHT, tokenScores);
+            collectPostings(descriptionIndex, token, DESCRIPTION_WEIGHT, tokenScores);
+
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                scores.keySet().retainAll(tokenScores.keySet());
+                scores.replaceAll((itemId, score) -> score + tokenScores.get(itemId));
+            }
+            if (scores.isEmpty()) {
+                return CursorPage.empty();
+            }
+        }
+
+        return rank(scores, from, size, after);
+    }
+
+    public CursorPage<Long> searchSubstring(String text, long from, long size, PageCursor after) {
+        String query = fold(text);
+        if (query.isBlank()) {
+            return CursorPage.empty();
+        }
+
+        Collection<Long> candidates;
+        if (query.length() < TRIGRAM_LENGTH) {
+            candidates = indexedItems.keySet();
+        } else {
+            candidates = findTrigramCandidates(query);
+        }
+
+        Map<Long, Integer> scores = new HashMap<>();
+        for (Long itemId : candidates) {
+            IndexedItem indexedItem = indexedItems.get(itemId);
+            if (indexedItem == null) {
+                continue;
+            }
+            if (indexedItem.name.contains(query)) {
+                scores.put(itemId, NAME_WEIGHT);
+            } else if (indexedItem.description.contains(query)) {
+                scores.put(itemId, DESCRIPTION_WEIGHT);
+            }
+        }
+
+        return rank(scores, from, size, after);
+    }
+
+    protected static Set<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptySet();
+        }
+
+        return TOKEN_SEPARATOR.splitAsStream(fold(text))
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    protected static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + TRIGRAM_LENGTH));
+        }
+        return trigrams;
+    }
+
+    private Collection<Long> findTrigramCandidates(String query) {
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String trigram : trigrams(query)) {
+            Set<Long> trigramPostings = trigramIndex.get(trigram);
+            if (trigramPostings == null) {
+                return Collections.emptyList();
+            }
+            postings.add(trigramPostings);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> candidates = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(postings.get(i));
+        }
+        return candidates;
+    }
+
+    private CursorPage<Long> rank(Map<Long, Integer> scores, long from, long size, PageCursor after) {
+        Stream<Map.Entry<Long, Integer>> ranked = scores.entrySet().stream()
+                .filter(e -> isAvailable(e.getKey()));
+        if (after != null) {
+            int rank = after.getRank();
+            long id = after.getId();
+            ranked = ranked.filter(e -> e.getValue() < rank || (e.getValue() == rank && e.getKey() > id));
+        }
+        ranked = ranked.sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        if (after == null) {
+            ranked = ranked.skip(from);
+        }
+
+        List<Map.Entry<Long, Integer>> page = ranked.limit(size).collect(Collectors.toList());
+        return CursorPage.of(page, size, e -> PageCursor.of(e.getValue(), e.getKey()))
+                .map(Map.Entry::getKey);
+    }
+
+    private static String fold(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private boolean isAvailable(long itemId) {
+        IndexedItem indexedItem = indexedItems.get(itemId);
+        return indexedItem != null && indexedItem.available;
+    }
+
+    private static void collectPostings(ConcurrentNavigableMap<String, Set<Long>> index, String prefix, int weight,
+                                        Map<Long, Integer> tokenScores) {
+        index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()
+                .forEach(postings -> postings.forEach(itemId -> tokenScores.merge(itemId, weight, Math::max)));
+    }
+
+    private static void addPosting(Map<String, Set<Long>> index, String key, long itemId) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(itemId);
+    }
+
+    private static void removePosting(Map<String, Set<Long>> index, String token, long itemId) {
+        index.computeIfPresent(token, (t, postings) -> {
+            postings.remove(itemId);
+            return postings.isEmpty() ? null : postings;
+        });
+    }
+
+    private static class IndexedItem {
+        private final String name;
+        private final String description;
+        private final Set<String> nameTokens;
+        private final Set<String> descriptionTokens;
+        private final Set<String> trigrams;
+        private final boolean available;
+        private final Long ownerId;
+
+        private IndexedItem(String name, String description, boolean available, Long ownerId) {
+            this.name = name;
+            this.description = description;
+            this.nameTokens = tokenize(name);
+            this.descriptionTokens = tokenize(description);
+            this.trigrams = trigrams(name);
+            this.trigrams.addAll(trigrams(description));
+            this.available = available;
+            this.ownerId = ownerId;
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.pagination.CursorPage;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
-    ItemDto getItemById(long itemId, long userId);
+    Tagged<ItemDto> getItemById(long itemId, long userId);
+
+    CursorPage<ItemDto> getAllItemsOfUser(long from, long size, long userId, String cursor);
 
-    List<ItemDto> getAllItemsOfUser(long from, long size, long userId);
+    List<ItemDto> getItemsByIds(List<Long> itemsIds, long userId);
 
     ItemDto saveNewItem(ItemDto itemDto, long userId);
 
     ItemDto updateItem(ItemDto itemDto, long itemId, long userId);
 
-    List<ItemDto> searchItems(long from, long size, String text);
+    CursorPage<ItemDto> searchItems(long from, long size, String text, ItemSearchMode mode, String cursor);
+
+    ItemAvailabilityDto getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to);
 
     CommentDto saveNewComment(long itemId, Comment comment, long userId);
 }
@@ -2,20 +2,30 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.booking.ItemNearestBooking;
+import ru.practicum.shareit.booking.ItemOccupancyIndex;
+import ru.practicum.shareit.cache.AfterCommit;
+import ru.practicum.shareit.etag.EntityTag;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.exception.*;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,29 +38,72 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final ItemOccupancyIndex itemOccupancyIndex;
+
+    @Value("${shareit.item-search.substring-backend:MEMORY}")
+    private SubstringSearchBackend substringSearchBackend = SubstringSearchBackend.MEMORY;
 
     @Override
-    public ItemDto getItemById(long itemId, long userId) {
+    public Tagged<ItemDto> getItemById(long itemId, long userId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Вещь не найдена"));
         List<ItemDto> itemDto = List.of(ItemMapper.toItemDto(item));
 
-        if (item.getOwner().getId() == userId) {
+        boolean ownerView = item.getOwner().getId() == userId;
+        if (ownerView) {
             itemDto = finaAndAttachNearestBookingsToItemsDto(itemDto, List.of(item.getId()));
         }
 
-        return findAndAttachCommentsToItemsDto(itemDto, List.of(item.getId())).get(0);
+        ItemDto itemDtoToReturn = findAndAttachCommentsToItemsDto(itemDto, List.of(item.getId())).get(0);
+        EntityTag tag = EntityTag.of("item").with(item.getId()).with(item.getVersion()).with(ownerView)
+                .with(itemDtoToReturn.getLastBooking() != null ? itemDtoToReturn.getLastBooking().getId() : 0)
+                .with(itemDtoToReturn.getNextBooking() != null ? itemDtoToReturn.getNextBooking().getId() : 0)
+                .with(itemDtoToReturn.getComments().size());
+        itemDtoToReturn.getComments().forEach(comment -> tag.with(comment.getId()).with(comment.getAuthorName()));
+        return Tagged.of(itemDtoToReturn, tag);
     }
 
     @Override
-    public List<ItemDto> getAllItemsOfUser(long from, long size, long userId) {
-        List<Item> items = itemRepository.findAllByOwnerId(PageRequest.of((int) (from / size), (int) size), userId);
+    public CursorPage<ItemDto> getAllItemsOfUser(long from, long size, long userId, String cursor) {
+        PageCursor after = PageCursor.decode(cursor, PageCursor.FIRST_ID);
+        List<Item> items = itemRepository.findAllByOwnerId(OffsetPageRequest.of(from, size, cursor), userId,
+                after.getId());
         List<Long> itemsIds = items.stream()
                 .map(Item::getId)
                 .collect(Collectors.toList());
         List<ItemDto> itemsDto = finaAndAttachNearestBookingsToItemsDto(ItemMapper.toItemDtoList(items), itemsIds);
 
-        return findAndAttachCommentsToItemsDto(itemsDto, itemsIds);
+        return CursorPage.of(findAndAttachCommentsToItemsDto(itemsDto, itemsIds), size,
+                itemDto -> PageCursor.of(itemDto.getId()));
+    }
+
+    @Override
+    public List<ItemDto> getItemsByIds(List<Long> itemsIds, long userId) {
+        List<Long> distinctIds = itemsIds.stream()
+                .distinct()
+                .collect(Collectors.toList());
+        if (distinctIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Item> itemsById = itemRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Item> items = distinctIds.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        List<Long> foundIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        List<Long> ownItemsIds = items.stream()
+                .filter(item -> item.getOwner().getId() == userId)
+                .map(Item::getId)
+                .collect(Collectors.toList());
+
+        List<ItemDto> itemsDto = finaAndAttachNearestBookingsToItemsDto(ItemMapper.toItemDtoList(items), ownItemsIds);
+        return findAndAttachCommentsToItemsDto(itemsDto, foundIds);
     }
 
     @Override
@@ -64,6 +117,8 @@ public class ItemServiceImpl implements ItemService {
                     .orElseThrow(() -> new ItemRequestNotFoundException("Запрос на вещь не найден")));
         }
         Item savedItem = itemRepository.save(itemToSave);
+        AfterCommit.run(() -> itemSearchIndex.index(savedItem));
+        itemBookingSummaryService.initialize(savedItem.getId());
         log.info("Добавлена вещь: {}", savedItem.toString());
         return ItemMapper.toItemDto(savedItem);
     }
@@ -85,23 +140,61 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item updatedItem = itemRepository.save(itemToUpdate);
+        AfterCommit.run(() -> itemSearchIndex.index(updatedItem));
         log.info("Обновлена вещь: {}", updatedItem.toString());
 
         return ItemMapper.toItemDto(updatedItem);
     }
 
     @Override
-    public List<ItemDto> searchItems(long from, long size, String text) {
-        List<ItemDto> itemsDtoToReturn = new ArrayList<>();
-        if (!text.isEmpty()) {
-            Page<Item> itemsPage = itemRepository.searchItems(PageRequest.of((int) (from / size), (int) size), text);
-            if (itemsPage != null && itemsPage.hasContent()) {
-                List<Item> foundItems = itemsPage.getContent();
-                itemsDtoToReturn = ItemMapper.toItemDtoList(foundItems);
+    public CursorPage<ItemDto> searchItems(long from, long size, String text, ItemSearchMode mode, String cursor) {
+        if (text.isEmpty()) {
+            return CursorPage.empty();
+        }
+
+        if (mode == ItemSearchMode.SUBSTRING && substringSearchBackend == SubstringSearchBackend.DATABASE) {
+            PageCursor after = PageCursor.decode(cursor, PageCursor.FIRST_ID);
+            List<Item> items = itemRepository.searchItems(OffsetPageRequest.of(from, size, cursor), text,
+                    after.getId());
+            return CursorPage.of(ItemMapper.toItemDtoList(items), size, itemDto -> PageCursor.of(itemDto.getId()));
+        }
+
+        PageCursor after = PageCursor.decode(cursor, null);
+        CursorPage<Long> foundItemsIds;
+        List<Item> foundItems;
+        List<Long> staleItemsIds;
+        do {
+            foundItemsIds = mode == ItemSearchMode.SUBSTRING
+                    ? itemSearchIndex.searchSubstring(text, from, size, after)
+                    : itemSearchIndex.search(text, from, size, after);
+            Map<Long, Item> itemsById = foundItemsIds.getContent().isEmpty()
+                    ? Collections.emptyMap()
+                    : itemRepository.findAllById(foundItemsIds.getContent()).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            foundItems = new ArrayList<>();
+            staleItemsIds = new ArrayList<>();
+            for (Long itemId : foundItemsIds.getContent()) {
+                Item item = itemsById.get(itemId);
+                if (item == null) {
+                    staleItemsIds.add(itemId);
+                } else {
+                    foundItems.add(item);
+                }
             }
+            staleItemsIds.forEach(itemSearchIndex::remove);
+        } while (!staleItemsIds.isEmpty());
+        List<ItemDto> itemsDtoToReturn = foundItems.isEmpty() ? new ArrayList<>() : ItemMapper.toItemDtoList(foundItems);
+
+        return new CursorPage<>(itemsDtoToReturn, foundItemsIds.getNextCursor());
+    }
+
+    @Override
+    public ItemAvailabilityDto getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new ItemNotFoundException("Вещь не найдена");
         }
 
-        return itemsDtoToReturn;
+        return itemOccupancyIndex.getAvailability(itemId, from, to);
     }
 
     @Override
@@ -145,24 +238,21 @@ public class ItemServiceImpl implements ItemService {
     }
 
     protected List<ItemDto> finaAndAttachNearestBookingsToItemsDto(List<ItemDto> itemsDto, List<Long> itemsIds) {
-        List<Booking> bookings = bookingRepository.findApprovedItemsBookings(itemsIds);
-
-        Map<Long, Optional<Booking>> nearestPastBookings = bookings.stream()
-                .filter(b -> b.getStart().isBefore(LocalDateTime.now()))
-                .collect(Collectors.groupingBy(b -> b.getItem().getId(),
-                        Collectors.maxBy(Comparator.comparing(Booking::getStart))));
-
-        Map<Long, Optional<Booking>> nearestFutureBookings = bookings.stream()
-                .filter(b -> b.getStart().isAfter(LocalDateTime.now()))
-                .collect(Collectors.groupingBy(b -> b.getItem().getId(),
-                        Collectors.minBy(Comparator.comparing(Booking::getStart))));
+        if (itemsIds.isEmpty()) {
+            return itemsDto;
+        }
+        Map<Long, ItemDto> itemsDtoById = itemsDto.stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
 
-        for (ItemDto item : itemsDto) {
-            if (nearestPastBookings.get(item.getId()) != null) {
-                item.setLastBooking(BookingMapper.toBookingItemDto(nearestPastBookings.get(item.getId()).get()));
+        for (ItemNearestBooking booking : itemBookingSummaryService.findNearestBookings(itemsIds)) {
+            ItemDto item = itemsDtoById.get(booking.getItemId());
+            if (item == null) {
+                continue;
             }
-            if (nearestFutureBookings.get(item.getId()) != null) {
-                item.setNextBooking(BookingMapper.toBookingItemDto(nearestFutureBookings.get(item.getId()).get()));
+            if (ItemNearestBooking.LAST.equals(booking.getKind())) {
+                item.setLastBooking(BookingMapper.toBookingItemDto(booking));
+            } else {
+                item.setNextBooking(BookingMapper.toBookingItemDto(booking));
             }
         }
 
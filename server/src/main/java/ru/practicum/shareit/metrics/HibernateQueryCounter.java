@@ -0,0 +1,48 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+public class HibernateQueryCounter extends EmptyInterceptor implements StatementInspector {
+    private final transient ThreadLocal<QueryCounts> counts = new ThreadLocal<>();
+
+    public QueryCounts start() {
+        return start(new QueryCounts());
+    }
+
+    public QueryCounts record() {
+        return start(new QueryCounts(true));
+    }
+
+    public QueryCounts stop() {
+        QueryCounts queryCounts = counts.get();
+        counts.remove();
+        return queryCounts;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounts queryCounts = counts.get();
+        if (queryCounts != null) {
+            queryCounts.statementPrepared(sql);
+        }
+        return sql;
+    }
+
+    private QueryCounts start(QueryCounts queryCounts) {
+        counts.set(queryCounts);
+        return queryCounts;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        QueryCounts queryCounts = counts.get();
+        if (queryCounts != null) {
+            queryCounts.entityLoaded();
+        }
+        return false;
+    }
+}
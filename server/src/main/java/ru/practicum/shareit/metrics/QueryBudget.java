@@ -0,0 +1,63 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+public class QueryBudget {
+    public static final String EXCEEDED_METRIC = "shareit.http.query-budget.exceeded";
+
+    private final QueryBudgetMode mode;
+    private final long defaultStatements;
+    private final Map<String, Long> endpointStatements;
+    private final MeterRegistry meterRegistry;
+
+    public QueryBudget(QueryBudgetMode mode, long defaultStatements, String endpoints, MeterRegistry meterRegistry) {
+        this.mode = mode;
+        this.defaultStatements = defaultStatements;
+        this.endpointStatements = parseEndpoints(endpoints);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public long statementsFor(String method, String uri) {
+        return endpointStatements.getOrDefault(method + " " + uri, defaultStatements);
+    }
+
+    public boolean check(String method, String uri, QueryCounts counts) {
+        if (mode == QueryBudgetMode.OFF) {
+            return true;
+        }
+        long budget = statementsFor(method, uri);
+        if (budget <= 0 || counts.getStatements() <= budget) {
+            return true;
+        }
+
+        meterRegistry.counter(EXCEEDED_METRIC, "method", method, "uri", uri).increment();
+        String message = String.format("Превышен бюджет SQL-запросов для %s %s: %d при допустимых %d " +
+                "(загружено сущностей: %d)", method, uri, counts.getStatements(), budget, counts.getEntityLoads());
+        if (mode == QueryBudgetMode.FAIL) {
+            throw new QueryBudgetExceededException(message);
+        }
+        log.warn(message);
+        return false;
+    }
+
+    private static Map<String, Long> parseEndpoints(String endpoints) {
+        Map<String, Long> budgets = new HashMap<>();
+        if (endpoints == null || endpoints.isBlank()) {
+            return budgets;
+        }
+        for (String endpoint : endpoints.split(",")) {
+            int separator = endpoint.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Некорректный бюджет SQL-запросов: " + endpoint.trim());
+            }
+            String key = endpoint.substring(0, separator).trim().replaceAll("\\s+", " ");
+            budgets.put(key, Long.parseLong(endpoint.substring(separator + 1).trim()));
+        }
+        return budgets;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.metrics;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.metrics;
+
+public enum QueryBudgetMode {
+    OFF,
+    LOG,
+    FAIL
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class QueryCounts {
+    @Getter(AccessLevel.NONE)
+    private final boolean recordSql;
+    private final List<String> recordedSql = new ArrayList<>();
+    private long statements;
+    private long entityLoads;
+
+    public QueryCounts() {
+        this(false);
+    }
+
+    QueryCounts(boolean recordSql) {
+        this.recordSql = recordSql;
+    }
+
+    void statementPrepared(String sql) {
+        statements++;
+        if (recordSql) {
+            recordedSql.add(sql);
+        }
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueryMetricsConfig {
+    @Bean
+    public HibernateQueryCounter hibernateQueryCounter() {
+        return new HibernateQueryCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer(HibernateQueryCounter hibernateQueryCounter) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, hibernateQueryCounter);
+            properties.put(AvailableSettings.INTERCEPTOR, hibernateQueryCounter);
+        };
+    }
+
+    @Bean
+    public QueryBudget queryBudget(@Value("${shareit.query-budget.mode:LOG}") QueryBudgetMode mode,
+                                   @Value("${shareit.query-budget.default-statements:0}") long defaultStatements,
+                                   @Value("${shareit.query-budget.endpoints:}") String endpoints,
+                                   MeterRegistry meterRegistry) {
+        return new QueryBudget(mode, defaultStatements, endpoints, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryMetricsFilter> queryMetricsFilter(HibernateQueryCounter hibernateQueryCounter,
+                                                                         QueryBudget queryBudget,
+                                                                         MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryMetricsFilter> registration = new FilterRegistrationBean<>(
+                new QueryMetricsFilter(hibernateQueryCounter, queryBudget, meterRegistry));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+public class QueryMetricsFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_METRIC = "shareit.http.statements";
+    public static final String ENTITY_LOADS_METRIC = "shareit.http.entity-loads";
+    public static final String QUERY_COUNTS_ATTRIBUTE = QueryMetricsFilter.class.getName() + ".QUERY_COUNTS";
+
+    private final HibernateQueryCounter queryCounter;
+    private final QueryBudget queryBudget;
+    private final MeterRegistry meterRegistry;
+
+    public QueryMetricsFilter(HibernateQueryCounter queryCounter, QueryBudget queryBudget,
+                              MeterRegistry meterRegistry) {
+        this.queryCounter = queryCounter;
+        this.queryBudget = queryBudget;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        queryCounter.start();
+        QueryCounts counts;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            counts = queryCounter.stop();
+            request.setAttribute(QUERY_COUNTS_ATTRIBUTE, counts);
+            String uri = uri(request);
+            summary(STATEMENTS_METRIC, request.getMethod(), uri).record(counts.getStatements());
+            summary(ENTITY_LOADS_METRIC, request.getMethod(), uri).record(counts.getEntityLoads());
+        }
+        queryBudget.check(request.getMethod(), uri(request), counts);
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private DistributionSummary summary(String name, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.user.UserService;
+
+import java.util.List;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    public static final String TIMER_NAME = "shareit.service";
+    private static final List<Class<?>> SERVICES = List.of(ItemService.class, BookingService.class,
+            ItemRequestService.class, UserService.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(* ru.practicum.shareit.item.ItemService.*(..)) " +
+            "|| execution(* ru.practicum.shareit.booking.BookingService.*(..)) " +
+            "|| execution(* ru.practicum.shareit.request.ItemRequestService.*(..)) " +
+            "|| execution(* ru.practicum.shareit.user.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .tag("service", serviceName(joinPoint))
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String serviceName(ProceedingJoinPoint joinPoint) {
+        return SERVICES.stream()
+                .filter(service -> service.isInstance(joinPoint.getTarget()))
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElse(joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.etag.EntityTag;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+public class CursorPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final String etag;
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this(content, nextCursor, null);
+    }
+
+    public static <T> CursorPage<T> of(List<T> content) {
+        return new CursorPage<>(content, null);
+    }
+
+    public static <T> CursorPage<T> of(List<T> content, long size, Function<T, PageCursor> cursorExtractor) {
+        if (content.isEmpty() || content.size() < size) {
+            return new CursorPage<>(content, null);
+        }
+        return new CursorPage<>(content, cursorExtractor.apply(content.get(content.size() - 1)).encode());
+    }
+
+    public static <T> CursorPage<T> empty() {
+        return new CursorPage<>(Collections.emptyList(), null);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).collect(Collectors.toList()), nextCursor, etag);
+    }
+
+    public CursorPage<T> withETag(EntityTag tag) {
+        return new CursorPage<>(content, nextCursor, tag.value());
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+        if (nextCursor != null) {
+            responseBuilder.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        if (etag != null) {
+            responseBuilder.eTag(etag);
+        }
+        return responseBuilder.body(content);
+    }
+}
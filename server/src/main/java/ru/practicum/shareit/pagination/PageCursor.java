@@ -0,0 +1,93 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import ru.practicum.shareit.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PageCursor {
+    public static final LocalDateTime MAX_TIMESTAMP = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    public static final PageCursor LATEST = new PageCursor(MAX_TIMESTAMP.toString(), Long.MAX_VALUE);
+    public static final PageCursor FIRST_ID = new PageCursor(null, 0);
+    private static final String SEPARATOR = "_";
+
+    private final String key;
+    private final long id;
+
+    public static PageCursor of(long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor of(LocalDateTime timestamp, long id) {
+        return new PageCursor(timestamp.toString(), id);
+    }
+
+    public static PageCursor of(int rank, long id) {
+        return new PageCursor(String.valueOf(rank), id);
+    }
+
+    public static boolean isPresent(String token) {
+        return token != null && !token.isBlank();
+    }
+
+    public static PageCursor decode(String token, PageCursor defaultCursor) {
+        if (!isPresent(token)) {
+            return defaultCursor;
+        }
+
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, -1);
+            if (parts.length == 1) {
+                return new PageCursor(null, Long.parseLong(parts[0]));
+            }
+            if (parts.length == 2 && !parts[0].isEmpty()) {
+                return new PageCursor(parts[0], Long.parseLong(parts[1]));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Некорректный курсор страницы: " + token);
+        }
+        throw new InvalidCursorException("Некорректный курсор страницы: " + token);
+    }
+
+    public String encode() {
+        String value = key == null ? String.valueOf(id) : key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public LocalDateTime getTimestamp() {
+        try {
+            return LocalDateTime.parse(requireKey());
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Курсор страницы не содержит дату");
+        }
+    }
+
+    public int getRank() {
+        try {
+            return Integer.parseInt(requireKey());
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Курсор страницы не содержит ранг");
+        }
+    }
+
+    private String requireKey() {
+        if (key == null) {
+            throw new InvalidCursorException("Курсор страницы не содержит ключ сортировки");
+        }
+        return key;
+    }
+}
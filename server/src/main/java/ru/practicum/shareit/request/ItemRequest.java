@@ -1,6 +1,9 @@
 package ru.practicum.shareit.request;
 
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import ru.practicum.shareit.ids.IdSequenceConfig;
+import ru.practicum.shareit.ids.PooledSequenceGenerator;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
@@ -14,7 +17,8 @@ import java.time.LocalDateTime;
 @Builder
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = IdSequenceConfig.REQUESTS_SEQUENCE)
+    @GenericGenerator(name = IdSequenceConfig.REQUESTS_SEQUENCE, strategy = PooledSequenceGenerator.STRATEGY)
     private Long id;
     private String description;
 
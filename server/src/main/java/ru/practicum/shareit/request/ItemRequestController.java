@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -27,17 +28,18 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ItemRequestDto getRequestById(@PathVariable long requestId,
+    public ResponseEntity<ItemRequestDto> getRequestById(@PathVariable long requestId,
                                          @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("получен запрос на получение запроса с id " + requestId + " от пользователя с id" + userId);
-        return itemRequestService.getRequestById(requestId, userId);
+        return itemRequestService.getRequestById(requestId, userId).toResponseEntity();
     }
 
     @GetMapping("all")
-    public List<ItemRequestDto> getAllRequests(@RequestHeader("X-Sharer-User-Id") long userId,
-                                               @RequestParam(defaultValue = "0") long from,
-                                               @RequestParam(defaultValue = "20") long size) {
+    public ResponseEntity<List<ItemRequestDto>> getAllRequests(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                               @RequestParam(defaultValue = "0") long from,
+                                                               @RequestParam(defaultValue = "20") long size,
+                                                               @RequestParam(defaultValue = "") String cursor) {
         log.info("получен запрос на получение всех запросов от пользователя с id " + userId);
-        return itemRequestService.getAllRequests(from, size, userId);
+        return itemRequestService.getAllRequests(from, size, userId, cursor).toResponseEntity();
     }
 }
\ No newline at end of file
@@ -1,13 +1,18 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    @Query("SELECT r FROM ItemRequest r WHERE r.requestor.id = ?1")
     List<ItemRequest> findAllByRequestorId(long requestorId);
 
-    Page<ItemRequest> findByRequestorIdNot(Pageable pageable, long requestorId);
+    @Query("SELECT r FROM ItemRequest r WHERE r.requestor.id <> ?1 " +
+            "AND r.created <= ?2 AND (r.created < ?2 OR r.id < ?3) ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findByRequestorIdNot(Pageable pageable, long requestorId,
+                                           LocalDateTime createdBefore, long idBefore);
 }
@@ -1,5 +1,8 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.pagination.CursorPage;
+
 import java.util.List;
 
 public interface ItemRequestService {
@@ -7,7 +10,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getRequestsOfUser(long userId);
 
-    ItemRequestDto getRequestById(long requestId, long userId);
+    Tagged<ItemRequestDto> getRequestById(long requestId, long userId);
 
-    List<ItemRequestDto> getAllRequests(long from, long size, long userId);
+    CursorPage<ItemRequestDto> getAllRequests(long from, long size, long userId, String cursor);
 }
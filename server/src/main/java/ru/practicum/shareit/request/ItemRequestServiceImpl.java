@@ -2,17 +2,20 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.etag.EntityTag;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.exception.ItemRequestNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceIndex;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
@@ -30,6 +33,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserExistenceIndex userExistenceIndex;
 
     @Override
     @Transactional
@@ -45,8 +49,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestDto> getRequestsOfUser(long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("Пользователь не найден"));
+        userExistenceIndex.requireExists(userId);
         List<ItemRequestDto> itemRequestDtoList = new ArrayList<>();
         List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestorId(userId);
 
@@ -59,9 +62,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public ItemRequestDto getRequestById(long requestId, long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("Пользователь не найден"));
+    public Tagged<ItemRequestDto> getRequestById(long requestId, long userId) {
+        userExistenceIndex.requireExists(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new ItemRequestNotFoundException("Запрос не найден"));
         List<Item> itemsOfRequest = itemRepository.findAllByRequestId(requestId);
@@ -72,26 +74,28 @@ public class ItemRequestServiceImpl implements ItemRequestService {
             itemRequestDto.setItems(ItemMapper.toItemForItemRequestDtoList(itemsOfRequest));
         }
 
-        return itemRequestDto;
+        EntityTag tag = EntityTag.of("request").with(itemRequest.getId()).with(itemsOfRequest.size());
+        itemsOfRequest.forEach(item -> tag.with(item.getId()).with(item.getVersion()));
+        return Tagged.of(itemRequestDto, tag);
     }
 
     @Override
-    public List<ItemRequestDto> getAllRequests(long from, long size, long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("Пользователь не найден"));
+    public CursorPage<ItemRequestDto> getAllRequests(long from, long size, long userId, String cursor) {
+        userExistenceIndex.requireExists(userId);
         List<ItemRequestDto> itemRequestDtoList = new ArrayList<>();
+        PageCursor after = PageCursor.decode(cursor, PageCursor.LATEST);
 
-        Page<ItemRequest> itemRequestsPage = itemRequestRepository
-                .findByRequestorIdNot(PageRequest.of((int) (from / size), (int) size,
-                        Sort.by("created").descending()), userId);
+        List<ItemRequest> itemRequestsList = itemRequestRepository
+                .findByRequestorIdNot(OffsetPageRequest.of(from, size, cursor), userId,
+                        after.getTimestamp(), after.getId());
 
-        if (itemRequestsPage != null && itemRequestsPage.hasContent()) {
-            List<ItemRequest> itemRequestsList = itemRequestsPage.getContent();
-            itemRequestDtoList = ItemRequestMapper.toItemRequestDtoList(itemRequestsList);
-            return findAndAttachItemsToRequestDtos(itemRequestDtoList);
+        if (!itemRequestsList.isEmpty()) {
+            itemRequestDtoList = findAndAttachItemsToRequestDtos(
+                    ItemRequestMapper.toItemRequestDtoList(itemRequestsList));
         }
 
-        return itemRequestDtoList;
+        return CursorPage.of(itemRequestDtoList, size,
+                itemRequestDto -> PageCursor.of(itemRequestDto.getCreated(), itemRequestDto.getId()));
     }
 
     protected List<ItemRequestDto> findAndAttachItemsToRequestDtos(List<ItemRequestDto> itemRequestDtoList) {
@@ -1,10 +1,18 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import ru.practicum.shareit.cache.EntityCacheConfig;
+import ru.practicum.shareit.ids.IdSequenceConfig;
+import ru.practicum.shareit.ids.PooledSequenceGenerator;
 
 import javax.persistence.*;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.USERS_REGION)
 @Table(name = "users")
 @Data
 @Builder
@@ -12,8 +20,13 @@ import javax.persistence.*;
 @AllArgsConstructor
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = IdSequenceConfig.USERS_SEQUENCE)
+    @GenericGenerator(name = IdSequenceConfig.USERS_SEQUENCE, strategy = PooledSequenceGenerator.STRATEGY)
     private long id;
     private String name;
     private String email;
+
+    @JsonIgnore
+    @Version
+    private long version;
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -20,9 +21,9 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public User getUserById(@PathVariable long userId) {
+    public ResponseEntity<User> getUserById(@PathVariable long userId) {
         log.info("получен запрос на получение пользователя с id " + userId);
-        return userService.getUserById(userId);
+        return userService.getUserById(userId).toResponseEntity();
     }
 
     @PostMapping
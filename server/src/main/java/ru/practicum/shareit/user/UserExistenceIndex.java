@@ -0,0 +1,196 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.AfterCommit;
+import ru.practicum.shareit.exception.UserNotFoundException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserExistenceIndex {
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final int INITIAL_WORDS = 1024;
+    private static final long MAX_INDEXED_ID = 1L << 28;
+    private static final int REBUILD_ATTEMPTS = 3;
+
+    private final UserRepository userRepository;
+    private final UserRemovalRepository userRemovalRepository;
+
+    @Value("${shareit.user-index.batch-size:10000}")
+    private int batchSize = 10000;
+
+    @Value("${shareit.user-index.removals-overlap:PT1M}")
+    private Duration removalsOverlap = Duration.ofMinutes(1);
+
+    @Value("${shareit.user-index.removals-retention:P1D}")
+    private Duration removalsRetention = Duration.ofDays(1);
+
+    private volatile AtomicLongArray words = new AtomicLongArray(INITIAL_WORDS);
+    private volatile boolean warmed;
+    private long removals;
+    private volatile long lastSeenId;
+    private volatile LocalDateTime removalsPolledAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        for (int attempt = 0; attempt < REBUILD_ATTEMPTS; attempt++) {
+            if (tryRebuild()) {
+                log.info("Индекс пользователей построен, размер битовой карты: {} слов", words.length());
+                return;
+            }
+        }
+        log.warn("Индекс пользователей не построен: пользователи удалялись во время построения");
+    }
+
+    @Scheduled(initialDelayString = "${shareit.user-index.resync-delay:10000}",
+            fixedDelayString = "${shareit.user-index.resync-delay:10000}")
+    public void resync() {
+        if (!warmed) {
+            rebuild();
+            return;
+        }
+        long removalsBefore = removals();
+        long afterId = lastSeenId;
+        Pageable batch = PageRequest.of(0, batchSize);
+        List<Long> usersIds = userRepository.findIdsAfter(afterId, batch);
+        while (!usersIds.isEmpty()) {
+            for (Long userId : usersIds) {
+                setIfNotRemovedSince(userId, removalsBefore);
+            }
+            afterId = usersIds.get(usersIds.size() - 1);
+            usersIds = userRepository.findIdsAfter(afterId, batch);
+        }
+        lastSeenId = afterId;
+
+        LocalDateTime polledAt = LocalDateTime.now();
+        for (Long userId : userRemovalRepository.findUsersIdsRemovedAfter(removalsPolledAt.minus(removalsOverlap))) {
+            clear(userId);
+        }
+        removalsPolledAt = polledAt;
+        userRemovalRepository.deleteAllRemovedBefore(polledAt.minus(removalsRetention));
+    }
+
+    public void requireExists(long userId) {
+        if (!exists(userId)) {
+            throw new UserNotFoundException("Пользователь не найден");
+        }
+    }
+
+    public boolean exists(long userId) {
+        if (warmed && isSet(userId)) {
+            return true;
+        }
+        long removalsBefore = removals();
+        if (userRepository.existsById(userId)) {
+            setIfNotRemovedSince(userId, removalsBefore);
+            return true;
+        }
+        return false;
+    }
+
+    public void add(long userId) {
+        AfterCommit.run(() -> set(userId));
+    }
+
+    public void remove(long userId) {
+        userRemovalRepository.save(UserRemoval.builder().userId(userId).removedAt(LocalDateTime.now()).build());
+        AfterCommit.run(() -> clear(userId));
+    }
+
+    private boolean tryRebuild() {
+        long removalsBefore = removals();
+        LocalDateTime startedAt = LocalDateTime.now();
+        AtomicLongArray rebuilt = new AtomicLongArray(INITIAL_WORDS);
+        long afterId = 0;
+        Pageable batch = PageRequest.of(0, batchSize);
+        List<Long> usersIds = userRepository.findIdsAfter(afterId, batch);
+        while (!usersIds.isEmpty()) {
+            for (Long userId : usersIds) {
+                rebuilt = withBit(rebuilt, userId);
+            }
+            afterId = usersIds.get(usersIds.size() - 1);
+            usersIds = userRepository.findIdsAfter(afterId, batch);
+        }
+        synchronized (this) {
+            if (removals != removalsBefore) {
+                return false;
+            }
+            words = rebuilt;
+            lastSeenId = afterId;
+            removalsPolledAt = startedAt;
+            warmed = true;
+            return true;
+        }
+    }
+
+    private boolean isSet(long userId) {
+        if (userId < 0 || userId >= MAX_INDEXED_ID) {
+            return false;
+        }
+        AtomicLongArray current = words;
+        int wordIndex = (int) (userId >>> ADDRESS_BITS_PER_WORD);
+        return wordIndex < current.length() && (current.get(wordIndex) & (1L << userId)) != 0;
+    }
+
+    private synchronized long removals() {
+        return removals;
+    }
+
+    private synchronized void set(long userId) {
+        words = withBit(words, userId);
+    }
+
+    private synchronized void setIfNotRemovedSince(long userId, long removalsBefore) {
+        if (removals == removalsBefore) {
+            set(userId);
+        }
+    }
+
+    private synchronized void clear(long userId) {
+        removals++;
+        if (userId < 0 || userId >= MAX_INDEXED_ID) {
+            return;
+        }
+        int wordIndex = (int) (userId >>> ADDRESS_BITS_PER_WORD);
+        if (wordIndex < words.length()) {
+            words.set(wordIndex, words.get(wordIndex) & ~(1L << userId));
+        }
+    }
+
+    private static AtomicLongArray withBit(AtomicLongArray current, long userId) {
+        if (userId < 0 || userId >= MAX_INDEXED_ID) {
+            return current;
+        }
+        int wordIndex = (int) (userId >>> ADDRESS_BITS_PER_WORD);
+        if (wordIndex >= current.length()) {
+            current = grow(current, wordIndex);
+        }
+        current.set(wordIndex, current.get(wordIndex) | (1L << userId));
+        return current;
+    }
+
+    private static AtomicLongArray grow(AtomicLongArray current, int wordIndex) {
+        int length = current.length();
+        while (length <= wordIndex) {
+            length *= 2;
+        }
+        AtomicLongArray grown = new AtomicLongArray(length);
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        return grown;
+    }
+}
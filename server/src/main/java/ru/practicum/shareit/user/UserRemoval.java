@@ -0,0 +1,24 @@
+package ru.practicum.shareit.user;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_removals")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRemoval {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "user_id")
+    private long userId;
+
+    @Column(name = "removed_at")
+    private LocalDateTime removedAt;
+}
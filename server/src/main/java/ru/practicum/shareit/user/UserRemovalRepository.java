@@ -0,0 +1,19 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UserRemovalRepository extends JpaRepository<UserRemoval, Long> {
+    @Query("SELECT r.userId FROM UserRemoval r WHERE r.removedAt > ?1")
+    List<Long> findUsersIdsRemovedAfter(LocalDateTime removedAfter);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UserRemoval r WHERE r.removedAt < ?1")
+    int deleteAllRemovedBefore(LocalDateTime removedBefore);
+}
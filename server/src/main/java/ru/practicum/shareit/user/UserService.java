@@ -1,11 +1,13 @@
 package ru.practicum.shareit.user;
 
+import ru.practicum.shareit.etag.Tagged;
+
 import java.util.List;
 
 public interface UserService {
     List<User> getAllUsers();
 
-    User getUserById(long id);
+    Tagged<User> getUserById(long id);
 
     User saveUser(User user);
 
@@ -4,7 +4,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.ItemBookingIntervals;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.booking.ItemOccupancyIndex;
+import ru.practicum.shareit.cache.AfterCommit;
+import ru.practicum.shareit.cache.EntityCache;
+import ru.practicum.shareit.etag.EntityTag;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.ItemSearchIndex;
 
 import java.util.List;
 
@@ -14,6 +22,12 @@ import java.util.List;
 @Slf4j
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final EntityCache entityCache;
+    private final UserExistenceIndex userExistenceIndex;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemBookingIntervals itemBookingIntervals;
+    private final ItemOccupancyIndex itemOccupancyIndex;
+    private final ItemBookingSummaryService itemBookingSummaryService;
 
     @Override
     public List<User> getAllUsers() {
@@ -21,15 +35,17 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public User getUserById(long id) {
-        return userRepository.findById(id)
+    public Tagged<User> getUserById(long id) {
+        User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("Пользователь не найден"));
+        return Tagged.of(user, EntityTag.of("user").with(user.getId()).with(user.getVersion()));
     }
 
     @Override
     @Transactional
     public User saveUser(User user) {
         User createdUser = userRepository.save(user);
+        userExistenceIndex.add(createdUser.getId());
         log.info("Добавлен пользователь: {}", createdUser.toString());
         return createdUser;
     }
@@ -56,7 +72,15 @@ public class UserServiceImpl implements UserService {
         if (!userRepository.existsById(id)) {
             throw new UserNotFoundException("Пользователь не найден");
         }
+        List<Long> bookedItemsIds = itemBookingSummaryService.findItemsIdsBookedBy(id);
         userRepository.deleteById(id);
+        userRepository.flush();
+        itemBookingSummaryService.onBookingsDeleted(bookedItemsIds);
+        userExistenceIndex.remove(id);
+        entityCache.evictAllItems();
+        AfterCommit.run(() -> itemSearchIndex.removeByOwner(id));
+        itemBookingIntervals.evictAllAfterCommit();
+        itemOccupancyIndex.evictAllAfterCommit();
         log.info("Удален пользователь с id: " + id);
     }
 }
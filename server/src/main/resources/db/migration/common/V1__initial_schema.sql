@@ -56,3 +56,12 @@ CREATE TABLE IF NOT EXISTS comments
 );
 
 
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_start_date ON bookings (item_id, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id_start_date ON bookings (booker_id, start_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id_end_date ON bookings (booker_id, end_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_requests_created_date ON requests (created_date, id);
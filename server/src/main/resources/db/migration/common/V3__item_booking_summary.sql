@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS item_booking_summary
+(
+    item_id         BIGINT                      NOT NULL,
+    last_booking_id BIGINT,
+    last_booker_id  BIGINT,
+    last_start_date TIMESTAMP WITHOUT TIME ZONE,
+    next_booking_id BIGINT,
+    next_booker_id  BIGINT,
+    next_start_date TIMESTAMP WITHOUT TIME ZONE,
+    bookings_count  BIGINT                      NOT NULL DEFAULT 0,
+    approved_count  BIGINT                      NOT NULL DEFAULT 0,
+    CONSTRAINT pk_item_booking_summary PRIMARY KEY (item_id),
+    CONSTRAINT id_item_booking_summary_fk FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_booking_summary_next_start_date ON item_booking_summary (next_start_date);
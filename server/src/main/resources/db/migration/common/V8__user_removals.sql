@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS user_removals
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    user_id    BIGINT                                  NOT NULL,
+    removed_at TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    CONSTRAINT pk_user_removals PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_removals_removed_at ON user_removals (removed_at);
@@ -0,0 +1,11 @@
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_id ON requests (requestor_id, created_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id_status ON bookings (booker_id, status, start_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_status ON bookings (item_id, status, start_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_booker_id ON bookings (item_id, booker_id, status, start_date);
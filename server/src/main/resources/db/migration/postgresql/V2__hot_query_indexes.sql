@@ -0,0 +1,21 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING GIN (lower(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING GIN (lower(description) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id) WHERE request_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_id ON requests (requestor_id, created_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id_status ON bookings (booker_id, status, start_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_status ON bookings (item_id, status, start_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_approved ON bookings (item_id, start_date)
+    INCLUDE (id, end_date, booker_id, status) WHERE status = 'APPROVED';
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_booker_id_approved ON bookings (item_id, booker_id, start_date)
+    WHERE status = 'APPROVED';
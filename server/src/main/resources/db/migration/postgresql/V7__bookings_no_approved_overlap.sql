@@ -0,0 +1,39 @@
+-- PostgreSQL only: H2 has no exclusion constraints, so there the overlap check in BookingServiceImpl is the only guard.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Overlapping approved bookings already exist; keep the earliest of each overlapping run and reject the rest,
+-- otherwise the constraint below cannot be created.
+CREATE TEMPORARY TABLE rejected_overlapping_bookings (id BIGINT PRIMARY KEY, item_id BIGINT NOT NULL) ON COMMIT DROP;
+
+DO $$
+DECLARE
+    booking      RECORD;
+    current_item BIGINT;
+    kept_end     TIMESTAMP WITHOUT TIME ZONE;
+BEGIN
+    FOR booking IN SELECT id, item_id, start_date, end_date FROM bookings
+                   WHERE status = 'APPROVED'
+                   ORDER BY item_id, start_date, id
+    LOOP
+        IF booking.item_id IS DISTINCT FROM current_item THEN
+            current_item := booking.item_id;
+            kept_end := NULL;
+        END IF;
+        IF kept_end IS NOT NULL AND booking.start_date < kept_end THEN
+            INSERT INTO rejected_overlapping_bookings (id, item_id) VALUES (booking.id, booking.item_id);
+        ELSE
+            kept_end := booking.end_date;
+        END IF;
+    END LOOP;
+END $$;
+
+UPDATE bookings SET status = 'REJECTED', version = version + 1
+WHERE id IN (SELECT id FROM rejected_overlapping_bookings);
+
+-- Summaries of affected items may point at rejected bookings; the reconcile job rebuilds missing rows.
+DELETE FROM item_booking_summary
+WHERE item_id IN (SELECT item_id FROM rejected_overlapping_bookings);
+
+ALTER TABLE bookings ADD CONSTRAINT bookings_no_approved_overlap
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date, '[)') WITH &&)
+    WHERE (status = 'APPROVED');
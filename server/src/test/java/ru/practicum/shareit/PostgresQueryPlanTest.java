@@ -0,0 +1,139 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.metrics.HibernateQueryCounter;
+import ru.practicum.shareit.metrics.QueryMetricsConfig;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QueryMetricsConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresQueryPlanTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    HibernateQueryCounter hibernateQueryCounter;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO users (id, name, email) " +
+                "SELECT x, 'user' || x, 'user' || x || '@mail.com' FROM generate_series(1, 1000) x");
+        jdbcTemplate.execute("INSERT INTO requests (id, description, requestor_id, created_date) " +
+                "SELECT x, 'request', x % 1000 + 1, TIMESTAMP '2030-01-01 00:00:00' - x * INTERVAL '1 hour' " +
+                "FROM generate_series(1, 2000) x");
+        jdbcTemplate.execute("INSERT INTO items (id, name, description, is_available, owner_id, request_id) " +
+                "SELECT x, CASE WHEN x % 10000 = 0 THEN 'Дрель ' || x ELSE 'Вещь ' || x END, " +
+                "CASE WHEN x % 10000 = 5000 THEN 'Ударная дрель ' || x ELSE 'Описание вещи ' || x END, TRUE, " +
+                "x % 1000 + 1, CASE WHEN x % 10 = 0 THEN x % 2000 + 1 END FROM generate_series(1, 100000) x");
+        jdbcTemplate.execute("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "SELECT x, TIMESTAMP '2030-01-01 00:00:00' + (x / 10000 - 25) * INTERVAL '2 hour', " +
+                "TIMESTAMP '2030-01-01 00:00:00' + (x / 10000 - 25) * INTERVAL '2 hour' + INTERVAL '1 hour', " +
+                "x % 10000 + 1, x * 7 % 1000 + 1, " +
+                "CASE x % 3 WHEN 0 THEN 'WAITING' WHEN 1 THEN 'APPROVED' ELSE 'REJECTED' END " +
+                "FROM generate_series(1, 500000) x");
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+
+    @BeforeEach
+    void setUp() {
+        hibernateQueryCounter.record();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hibernateQueryCounter.stop();
+    }
+
+    static Stream<Arguments> indexedQueries() {
+        return Stream.of(
+                arguments("ItemRepository.searchItems",
+                        List.of("idx_items_name_trgm", "idx_items_description_trgm"),
+                        List.of("дрель", "дрель", 0L, 20),
+                        (Consumer<PostgresQueryPlanTest>) t ->
+                                t.itemRepository.searchItems(PageRequest.of(0, 20), "дрель", 0)),
+                arguments("ItemRepository.findAllByRequestsIds",
+                        List.of("idx_items_request_id"),
+                        List.of(1L, 2L, 3L),
+                        (Consumer<PostgresQueryPlanTest>) t ->
+                                t.itemRepository.findAllByRequestsIds(List.of(1L, 2L, 3L))),
+                arguments("BookingRepository.findBookingByItemIdAndBookerId",
+                        List.of("idx_bookings_item_id_booker_id_approved"),
+                        List.of(1L, 2L, 1),
+                        (Consumer<PostgresQueryPlanTest>) t ->
+                                t.bookingRepository.findBookingByItemIdAndBookerId(1, 2, PageRequest.of(0, 1))),
+                arguments("BookingRepository.findNearestItemsBookings",
+                        List.of("idx_bookings_item_id_approved"),
+                        List.of(NOW, NOW, NOW, 1L, 2L, 3L, NOW),
+                        (Consumer<PostgresQueryPlanTest>) t ->
+                                t.bookingRepository.findNearestItemsBookings(List.of(1L, 2L, 3L), NOW))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("indexedQueries")
+    void hotQuery_shouldUsePostgresSpecificIndex(String repositoryMethod, List<String> indexes,
+                                                  List<Object> parameters, Consumer<PostgresQueryPlanTest> query) {
+        query.accept(this);
+        List<String> statements = hibernateQueryCounter.stop().getRecordedSql();
+
+        assertEquals(1, statements.size(), repositoryMethod + ": " + statements);
+        String sql = statements.get(0);
+        assertEquals(parameters.size(), sql.chars().filter(c -> c == '?').count(), repositoryMethod + ": " + sql);
+        String plan = String.join("\n",
+                jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters.toArray()));
+
+        for (String index : indexes) {
+            assertTrue(plan.contains(index), repositoryMethod + " не использует " + index + ":\n" + plan);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.metrics.HibernateQueryCounter;
+import ru.practicum.shareit.metrics.QueryMetricsConfig;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+@DataJpaTest
+@Import({QueryMetricsConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final List<Long> IDS = List.of(1L, 2L, 3L);
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    HibernateQueryCounter hibernateQueryCounter;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+    @Autowired
+    ItemBookingSummaryRepository itemBookingSummaryRepository;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO users (id, name, email) " +
+                "SELECT X, 'user' || X, 'user' || X || '@mail.com' FROM SYSTEM_RANGE(1, 100)");
+        jdbcTemplate.execute("INSERT INTO requests (id, description, requestor_id, created_date) " +
+                "SELECT X, 'request', MOD(X, 100) + 1, DATEADD('HOUR', -X, TIMESTAMP '2030-01-01 00:00:00') " +
+                "FROM SYSTEM_RANGE(1, 200)");
+        jdbcTemplate.execute("INSERT INTO items (id, name, description, is_available, owner_id, request_id) " +
+                "SELECT X, 'item', 'item', TRUE, MOD(X, 100) + 1, CASEWHEN(MOD(X, 10) = 0, MOD(X, 200) + 1, NULL) " +
+                "FROM SYSTEM_RANGE(1, 1000)");
+        jdbcTemplate.execute("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "SELECT X, DATEADD('HOUR', MOD(X, 5000) - 2500, TIMESTAMP '2030-01-01 00:00:00'), " +
+                "DATEADD('HOUR', MOD(X, 5000) - 2490, TIMESTAMP '2030-01-01 00:00:00'), MOD(X, 1000) + 1, " +
+                "MOD(X * 7, 100) + 1, CASEWHEN(MOD(X, 3) = 0, 'WAITING', CASEWHEN(MOD(X, 3) = 1, 'APPROVED', " +
+                "'REJECTED')) FROM SYSTEM_RANGE(1, 10000)");
+        jdbcTemplate.execute("INSERT INTO comments (id, text, item_id, author_id, created_date) " +
+                "SELECT X, 'comment', MOD(X, 1000) + 1, MOD(X, 100) + 1, TIMESTAMP '2030-01-01 00:00:00' " +
+                "FROM SYSTEM_RANGE(1, 3000)");
+        jdbcTemplate.execute("INSERT INTO item_booking_summary (item_id, next_start_date) " +
+                "SELECT X, DATEADD('HOUR', X, TIMESTAMP '2030-01-01 00:00:00') FROM SYSTEM_RANGE(1, 1000)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        for (String table : List.of("item_booking_summary", "comments", "bookings", "items", "requests", "users")) {
+            jdbcTemplate.execute("DELETE FROM " + table);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        hibernateQueryCounter.record();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hibernateQueryCounter.stop();
+    }
+
+    static Stream<Arguments> hotQueries() {
+        OffsetPageRequest page = OffsetPageRequest.of(0, 20);
+        return Stream.of(
+                arguments("BookingRepository.findAllByBookerIdOrderByEndDesc", (Consumer<QueryPlanTest>) t ->
+                        t.bookingRepository.findAllByBookerIdOrderByEndDesc(page, 1, PageCursor.MAX_TIMESTAMP,
+                                Long.MAX_VALUE)),
+                arguments("BookingRepository.findCurrentBookingsOfUser", (Consumer<QueryPlanTest>) t ->
+                        t.bookingRepository.findCurrentBookingsOfUser(page, 1,
+                                List.of(BookingStatus.APPROVED, BookingStatus.REJECTED), NOW,
+                                PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE)),
+                arguments("BookingRepository.findFutureBookingsOfUser", (Consumer<QueryPlanTest>) t ->
+                        t.bookingRepository.findFutureBookingsOfUser(page, 1, NOW, PageCursor.MAX_TIMESTAMP,
+                                Long.MAX_VALUE)),
+                arguments("BookingRepository.findPastBookingsOfUser", (Consumer<QueryPlanTest>) t ->
+                        t.bookingRepository.findPastBookingsOfUser(page, 1, NOW, PageCursor.MAX_TIMESTAMP,
+                                Long.MAX_VALUE)),
+                arguments("BookingRepository.findWaitingOrRejectedBookingsOfUser", (Consumer<QueryPlanTest>) t ->
+                        t.bookingRepository.findWaitingOrRejectedBookingsOfUser(page, 1, BookingStatus.WAITING,
+                                PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE)),
+                arguments("BookingRepository.findAllBookingsOfItemsOwner", (Consumer<QueryPlanTest>) t ->
+                        t.bookingRepository.findAllBookingsOfItemsOwner(page, 1, PageCursor.MAX_TIMESTAMP,
+                                Long.MAX_VALUE)),
+                arguments("BookingRepository.findCurrentBookingsOfItemsOwner", (Consumer<QueryPlanTest>) t ->
+                        t.bookingRepository.findCurrentBookingsOfItemsOwner(page, 1,
+                                List.of(BookingStatus.APPROVED, BookingStatus.REJECTED), NOW,
+                                PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE)),
+                arguments("BookingRepository.findPastBookingsOfItemsOwner", (Consumer<QueryPlanTest>) t ->
+                        t.bookingRepository.findPastBookingsOfItemsOwner(page, 1, NOW, PageCursor.MAX_TIMESTAMP,
+                                Long.MAX_VALUE)),
+                arguments("BookingRepository.findFutureBookingsOfItemsOwner", (Consumer<QueryPlanTest>) t ->
+                        t.bookingRepository.findFutureBookingsOfItemsOwner(page, 1, NOW, PageCursor.MAX_TIMESTAMP,
+                                Long.MAX_VALUE)),
+                arguments("BookingRepository.findWaitingOrRejectedBookingsOfItemsOwner", (Consumer<QueryPlanTest>) t ->
+                        t.bookingRepository.findWaitingOrRejectedBookingsOfItemsOwner(page, 1,
+                                BookingStatus.REJECTED, PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE)),
+                arguments("BookingRepository.findNearestItemsBookings", (Consumer<QueryPlanTest>) t ->
+                        t.bookingRepository.findNearestItemsBookings(IDS, NOW)),
+                arguments("BookingRepository.findBookingByItemIdAndBookerId", (Consumer<QueryPlanTest>) t ->
+                        t.bookingRepository.findBookingByItemIdAndBookerId(1, 2, PageRequest.of(0, 1))),
+                arguments("ItemRepository.findAllByOwnerId", (Consumer<QueryPlanTest>) t ->
+                        t.itemRepository.findAllByOwnerId(page, 1, 0)),
+                arguments("ItemRepository.findAllByRequestsIds", (Consumer<QueryPlanTest>) t ->
+                        t.itemRepository.findAllByRequestsIds(IDS)),
+                arguments("CommentRepository.findAllByItemsIds", (Consumer<QueryPlanTest>) t ->
+                        t.commentRepository.findAllByItemsIds(IDS)),
+                arguments("ItemRequestRepository.findAllByRequestorId", (Consumer<QueryPlanTest>) t ->
+                        t.itemRequestRepository.findAllByRequestorId(1)),
+                arguments("ItemBookingSummaryRepository.findAllById", (Consumer<QueryPlanTest>) t ->
+                        t.itemBookingSummaryRepository.findAllById(IDS)),
+                arguments("ItemBookingSummaryRepository.findStaleItemsIds", (Consumer<QueryPlanTest>) t ->
+                        t.itemBookingSummaryRepository.findStaleItemsIds(NOW, PageRequest.of(0, 500)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQuery_shouldNotScanWholeTable(String repositoryMethod, Consumer<QueryPlanTest> query) {
+        query.accept(this);
+        List<String> statements = hibernateQueryCounter.stop().getRecordedSql();
+
+        assertFalse(statements.isEmpty(), repositoryMethod + " не выполнил SQL-запросов");
+        for (String sql : statements) {
+            Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+
+            assertFalse(plan.contains("tableScan"), repositoryMethod + ": " + plan);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceIndex;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Import({BookingServiceImpl.class, ItemBookingSummaryService.class, ItemBookingIntervals.class,
+        ItemOccupancyIndex.class, UserExistenceIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingApprovalConcurrencyTest {
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemBookingSummaryRepository itemBookingSummaryRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        itemBookingSummaryRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @SneakyThrows
+    @Test
+    void updateBooking_concurrentApprovalsOfSameInterval_onlyOneApproved() {
+        User owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        User booker = userRepository.save(User.builder().name("booker").email("booker@mail.com").build());
+        Item item = itemRepository.save(Item.builder().name("Дрель").description("Простая дрель").available(true)
+                .owner(owner).build());
+        BookingDto bookingDto = BookingDto.builder().itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2)).build();
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            bookingIds.add(bookingService.saveNewBooking(bookingDto, booker.getId()).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(bookingIds.size());
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<SavedBookingDto>> results = new ArrayList<>();
+        int approved = 0;
+        try {
+            for (long bookingId : bookingIds) {
+                results.add(executor.submit(() -> {
+                    ready.await();
+                    return bookingService.updateBooking(bookingId, owner.getId(), true);
+                }));
+            }
+            ready.countDown();
+            for (Future<SavedBookingDto> result : results) {
+                try {
+                    result.get();
+                    approved++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(BookingOverlapException.class, e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, approved);
+        assertEquals(1, bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .count());
+        assertThrows(BookingOverlapException.class, () -> bookingService.saveNewBooking(bookingDto, booker.getId()));
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingBurstBenchmarkTest {
+    private static final int BURST_SIZE = 2_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    User booker;
+    Item item;
+
+    @BeforeAll
+    void beforeAll() {
+        User owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@mail.com").build());
+        item = itemRepository.save(Item.builder().name("item").description("item Description").available(true)
+                .owner(owner).build());
+    }
+
+    @Test
+    void bookingBurst_shouldBeFasterWithBatchedInserts() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        double singleRowThroughput = measure(1);
+        statistics.clear();
+        persistBurst(1);
+        long singleRowStatements = statistics.getPrepareStatementCount();
+
+        double batchedThroughput = measure(BATCH_SIZE);
+        statistics.clear();
+        persistBurst(BATCH_SIZE);
+        long batchedStatements = statistics.getPrepareStatementCount();
+
+        System.out.printf("Всплеск из %d бронирований: по одной строке %.0f бронирований/с (%d запросов), " +
+                        "пакетами по %d %.0f бронирований/с (%d запросов), ускорение %.2fx%n",
+                BURST_SIZE, singleRowThroughput, singleRowStatements, BATCH_SIZE, batchedThroughput,
+                batchedStatements, batchedThroughput / singleRowThroughput);
+        assertTrue(batchedStatements * 10 < singleRowStatements);
+    }
+
+    @AfterAll
+    void afterAll() {
+        bookingRepository.deleteAllInBatch();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private double measure(int batchSize) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            persistBurst(batchSize);
+        }
+
+        long elapsed = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            elapsed += persistBurst(batchSize);
+        }
+        return (double) BURST_SIZE * MEASURED_ROUNDS * 1_000_000_000L / elapsed;
+    }
+
+    private long persistBurst(int batchSize) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        long startedAt = System.nanoTime();
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < BURST_SIZE; i++) {
+            entityManager.persist(Booking.builder()
+                    .item(entityManager.getReference(Item.class, item.getId()))
+                    .booker(entityManager.getReference(User.class, booker.getId()))
+                    .start(start.plusHours(i))
+                    .end(start.plusHours(i).plusMinutes(30))
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+        entityManager.getTransaction().commit();
+        long elapsed = System.nanoTime() - startedAt;
+
+        entityManager.close();
+        return elapsed;
+    }
+}
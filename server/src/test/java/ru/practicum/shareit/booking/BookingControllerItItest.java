@@ -9,6 +9,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -19,6 +21,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -59,7 +62,8 @@ public class BookingControllerItItest {
     @SneakyThrows
     @Test
     void getItemById() {
-        when(bookingService.getBookingById(savedBookingDtoOut.getId(), userId)).thenReturn(savedBookingDtoOut);
+        when(bookingService.getBookingById(savedBookingDtoOut.getId(), userId))
+                .thenReturn(new Tagged<>(savedBookingDtoOut, "\"booking-1\""));
 
         mvc.perform(get(URL + "/" + savedBookingDtoOut.getId())
                         .header("X-Sharer-User-Id", userId))
@@ -73,8 +77,8 @@ public class BookingControllerItItest {
     @SneakyThrows
     @Test
     void getBookingsOfUser() {
-        when(bookingService.getBookingsOfUser(0, 20, "ALL", userId))
-                .thenReturn(List.of(savedBookingDtoOut));
+        when(bookingService.getBookingsOfUser(0, 20, "ALL", userId, ""))
+                .thenReturn(CursorPage.of(List.of(savedBookingDtoOut)));
 
         mvc.perform(get(URL)
                         .header("X-Sharer-User-Id", userId)
@@ -85,14 +89,33 @@ public class BookingControllerItItest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(mapper.writeValueAsString(List.of(savedBookingDtoOut))));
 
-        verify(bookingService).getBookingsOfUser(0, 20, "ALL", userId);
+        verify(bookingService).getBookingsOfUser(0, 20, "ALL", userId, "");
+    }
+
+    @SneakyThrows
+    @Test
+    void getBookingsOfUser_withCursor() {
+        when(bookingService.getBookingsOfUser(0, 1, "ALL", userId, "cursor"))
+                .thenReturn(new CursorPage<>(List.of(savedBookingDtoOut), "nextCursor"));
+
+        mvc.perform(get(URL)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("state", "ALL")
+                        .param("size", "1")
+                        .param("cursor", "cursor"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "nextCursor"))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(savedBookingDtoOut))));
+
+        verify(bookingService).getBookingsOfUser(0, 1, "ALL", userId, "cursor");
     }
 
     @SneakyThrows
     @Test
     void getBookingsOfItemsOwner() {
-        when(bookingService.getBookingsOfItemsOwner(0, 20, "ALL", userId))
-                .thenReturn(List.of(savedBookingDtoOut));
+        when(bookingService.getBookingsOfItemsOwner(0, 20, "ALL", userId, ""))
+                .thenReturn(CursorPage.of(List.of(savedBookingDtoOut)));
 
         mvc.perform(get(URL + "/owner")
                         .header("X-Sharer-User-Id", userId)
@@ -103,7 +126,7 @@ public class BookingControllerItItest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(mapper.writeValueAsString(List.of(savedBookingDtoOut))));
 
-        verify(bookingService).getBookingsOfItemsOwner(0, 20, "ALL", userId);
+        verify(bookingService).getBookingsOfItemsOwner(0, 20, "ALL", userId, "");
     }
 
     @SneakyThrows
@@ -6,6 +6,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
@@ -26,11 +29,13 @@ class BookingControllerTest {
         long bookingId = 1;
         long userId = 1;
         SavedBookingDto expectedBookingDto = new SavedBookingDto();
-        Mockito.when(bookingService.getBookingById(bookingId, userId)).thenReturn(expectedBookingDto);
+        Mockito.when(bookingService.getBookingById(bookingId, userId))
+                .thenReturn(new Tagged<>(expectedBookingDto, "\"booking-1\""));
 
-        SavedBookingDto savedBookingDto = bookingController.getBookingById(bookingId, userId);
+        ResponseEntity<SavedBookingDto> response = bookingController.getBookingById(bookingId, userId);
 
-        assertEquals(expectedBookingDto, savedBookingDto);
+        assertEquals(expectedBookingDto, response.getBody());
+        assertEquals("\"booking-1\"", response.getHeaders().getETag());
         verify(bookingService, times(1)).getBookingById(bookingId, userId);
     }
 
@@ -41,13 +46,14 @@ class BookingControllerTest {
         long from = 0;
         long size = 20;
         List<SavedBookingDto> expectedSavedBookingDtoList = List.of(new SavedBookingDto());
-        Mockito.when(bookingService.getBookingsOfUser(from, size, state, userId))
-                .thenReturn(expectedSavedBookingDtoList);
+        Mockito.when(bookingService.getBookingsOfUser(from, size, state, userId, ""))
+                .thenReturn(CursorPage.of(expectedSavedBookingDtoList));
 
-        List<SavedBookingDto> savedBookingDtoList = bookingController.getBookingsOfUser(state, userId, from, size);
+        List<SavedBookingDto> savedBookingDtoList = bookingController.getBookingsOfUser(state, userId, from, size, "")
+                .getBody();
 
         assertEquals(expectedSavedBookingDtoList, savedBookingDtoList);
-        verify(bookingService, times(1)).getBookingsOfUser(from, size, state, userId);
+        verify(bookingService, times(1)).getBookingsOfUser(from, size, state, userId, "");
     }
 
     @Test
@@ -57,14 +63,14 @@ class BookingControllerTest {
         long from = 0;
         long size = 20;
         List<SavedBookingDto> expectedSavedBookingDtoList = List.of(new SavedBookingDto());
-        Mockito.when(bookingService.getBookingsOfItemsOwner(from, size, state, userId))
-                .thenReturn(expectedSavedBookingDtoList);
+        Mockito.when(bookingService.getBookingsOfItemsOwner(from, size, state, userId, ""))
+                .thenReturn(CursorPage.of(expectedSavedBookingDtoList));
 
         List<SavedBookingDto> savedBookingDtoList = bookingController
-                .getBookingsOfItemsOwner(state, userId, from, size);
+                .getBookingsOfItemsOwner(state, userId, from, size, "").getBody();
 
         assertEquals(expectedSavedBookingDtoList, savedBookingDtoList);
-        verify(bookingService, times(1)).getBookingsOfItemsOwner(from, size, state, userId);
+        verify(bookingService, times(1)).getBookingsOfItemsOwner(from, size, state, userId, "");
     }
 
     @Test
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.metrics.QueryBudget;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.metrics.QueryBudgetMatchers.withinBudget;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:query-budget", "shareit.query-budget.mode=FAIL"})
+@AutoConfigureMockMvc
+class BookingQueryBudgetItTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    QueryBudget queryBudget;
+
+    User owner;
+    User booker;
+    List<Item> items = new ArrayList<>();
+    List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@budget.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@budget.ru").build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 6; i++) {
+            Item item = itemRepository.save(Item.builder().name("item" + i).description("description " + i)
+                    .available(true).owner(owner).build());
+            items.add(item);
+            bookings.add(bookingRepository.save(Booking.builder().item(item).booker(booker)
+                    .status(BookingStatus.APPROVED).start(now.minusDays(10 + i)).end(now.minusDays(9 + i)).build()));
+        }
+        bookings.add(bookingRepository.save(Booking.builder().item(items.get(0)).booker(booker)
+                .status(BookingStatus.WAITING).start(now.plusDays(1)).end(now.plusDays(2)).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getBookingById_shouldStayWithinBudget() throws Exception {
+        perform(get("/bookings/" + bookings.get(0).getId()).header(USER_HEADER, booker.getId()));
+    }
+
+    @Test
+    void getBookingsOfUser_shouldStayWithinBudgetForEveryState() throws Exception {
+        for (String state : List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING")) {
+            perform(get("/bookings?state=" + state).header(USER_HEADER, booker.getId()));
+        }
+    }
+
+    @Test
+    void getBookingsOfItemsOwner_shouldStayWithinBudgetForEveryState() throws Exception {
+        for (String state : List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING")) {
+            perform(get("/bookings/owner?state=" + state).header(USER_HEADER, owner.getId()));
+        }
+    }
+
+    @Test
+    void saveNewBooking_shouldStayWithinBudget() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(30).withNano(0);
+        perform(post("/bookings").header(USER_HEADER, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"itemId\":" + items.get(1).getId() + ",\"start\":\"" + start +
+                        "\",\"end\":\"" + start.plusDays(1) + "\"}"));
+    }
+
+    @Test
+    void updateBooking_shouldStayWithinBudget() throws Exception {
+        perform(patch("/bookings/" + bookings.get(bookings.size() - 1).getId() + "?approved=true")
+                .header(USER_HEADER, owner.getId()));
+    }
+
+    private void perform(MockHttpServletRequestBuilder request) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        mvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(withinBudget(queryBudget));
+    }
+}
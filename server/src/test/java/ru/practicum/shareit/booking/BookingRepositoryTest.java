@@ -10,13 +10,22 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.jdbc.core.JdbcTemplate;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -86,15 +95,17 @@ class BookingRepositoryTest {
 
     @Test
     void findAllByBookerIdOrderByEndDesc() {
-        List<Booking> result = bookingRepository.findAllByBookerIdOrderByEndDesc(Pageable.unpaged(), user.getId());
+        List<Booking> result = bookingRepository.findAllByBookerIdOrderByEndDesc(Pageable.unpaged(), user.getId(),
+                PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE);
 
-        assertBookingDetails_findAllByItemsIds_findAllByBookerIdOrderByEndDesc(result);
+        assertBookingDetails_findAllBookingsOfItemsOwner_findAllByBookerIdOrderByEndDesc(result);
     }
 
     @Test
     void findCurrentBookingsOfUser() {
         List<Booking> result = bookingRepository.findCurrentBookingsOfUser(Pageable.unpaged(), user.getId(),
-                List.of(BookingStatus.APPROVED), LocalDateTime.now());
+                List.of(BookingStatus.APPROVED), LocalDateTime.now(),
+                PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE);
 
         assertBookingDetails_findCurrentBookingsOfItemsOwner_findCurrentBookingsOfItemsOwner(result);
     }
@@ -102,7 +113,8 @@ class BookingRepositoryTest {
     @Test
     void findPastBookingsOfUser() {
         List<Booking> result = bookingRepository.findPastBookingsOfUser(Pageable.unpaged(), user.getId(),
-                LocalDateTime.now());
+                LocalDateTime.now(),
+                PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE);
 
         assertBookingDetails_findPastBookingsOfItemsOwner_findPastBookingsOfUser(result);
     }
@@ -110,7 +122,8 @@ class BookingRepositoryTest {
     @Test
     void findFutureBookingsOfUser() {
         List<Booking> result = bookingRepository.findFutureBookingsOfUser(Pageable.unpaged(), user.getId(),
-                LocalDateTime.now());
+                LocalDateTime.now(),
+                PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE);
 
         assertBookingDetails_findFutureBookingsOfItemsOwner_findFutureBookingsOfUser(result);
     }
@@ -118,31 +131,39 @@ class BookingRepositoryTest {
     @Test
     void findWaitingOrRejectedBookingsOfUser() {
         List<Booking> result = bookingRepository.findWaitingOrRejectedBookingsOfUser(Pageable.unpaged(),
-                user.getId(), BookingStatus.REJECTED);
+                user.getId(), BookingStatus.REJECTED,
+                PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE);
 
         assertBookingDetails_findWaitingOrRejectedBookingsOfItemsOwner_findWaitingOrRejectedBookingsOfUser(result);
     }
 
     @Test
-    void getItemsIdsOfOwner() {
-        List<Long> result = bookingRepository.getItemsIdsOfOwner(user2.getId());
+    void findAllBookingsOfItemsOwner() {
+        List<Booking> result = bookingRepository.findAllBookingsOfItemsOwner(Pageable.unpaged(), user2.getId(),
+                PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE);
 
-        assertEquals(1, result.size());
-        assertEquals(item2.getId(), result.get(0));
+        assertBookingDetails_findAllBookingsOfItemsOwner_findAllByBookerIdOrderByEndDesc(result);
     }
 
     @Test
-    void findAllByItemsIds() {
-        List<Booking> result = bookingRepository.findAllByItemsIds(Pageable.unpaged(),
-                List.of(item2.getId()));
+    void findAllBookingsOfItemsOwner_shouldSeekAfterCursor() {
+        List<Booking> firstPage = bookingRepository.findAllBookingsOfItemsOwner(OffsetPageRequest.of(0, 2),
+                user2.getId(), PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE);
+        Booking last = firstPage.get(1);
+
+        List<Booking> secondPage = bookingRepository.findAllBookingsOfItemsOwner(OffsetPageRequest.of(0, 2),
+                user2.getId(), last.getStart(), last.getId());
 
-        assertBookingDetails_findAllByItemsIds_findAllByBookerIdOrderByEndDesc(result);
+        assertEquals(2, secondPage.size());
+        assertEquals(booking3.getId(), secondPage.get(0).getId());
+        assertEquals(booking4.getId(), secondPage.get(1).getId());
     }
 
     @Test
     void findCurrentBookingsOfItemsOwner() {
         List<Booking> result = bookingRepository.findCurrentBookingsOfItemsOwner(Pageable.unpaged(),
-                List.of(item2.getId()), List.of(BookingStatus.APPROVED), LocalDateTime.now());
+                user2.getId(), List.of(BookingStatus.APPROVED), LocalDateTime.now(),
+                PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE);
 
         assertBookingDetails_findCurrentBookingsOfItemsOwner_findCurrentBookingsOfItemsOwner(result);
     }
@@ -150,7 +171,8 @@ class BookingRepositoryTest {
     @Test
     void findPastBookingsOfItemsOwner() {
         List<Booking> result = bookingRepository.findPastBookingsOfItemsOwner(Pageable.unpaged(),
-                List.of(item2.getId()), LocalDateTime.now());
+                user2.getId(), LocalDateTime.now(),
+                PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE);
 
         assertBookingDetails_findPastBookingsOfItemsOwner_findPastBookingsOfUser(result);
     }
@@ -158,7 +180,8 @@ class BookingRepositoryTest {
     @Test
     void findFutureBookingsOfItemsOwner() {
         List<Booking> result = bookingRepository.findFutureBookingsOfItemsOwner(Pageable.unpaged(),
-                List.of(item2.getId()), LocalDateTime.now());
+                user2.getId(), LocalDateTime.now(),
+                PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE);
 
         assertBookingDetails_findFutureBookingsOfItemsOwner_findFutureBookingsOfUser(result);
     }
@@ -166,19 +189,38 @@ class BookingRepositoryTest {
     @Test
     void findWaitingOrRejectedBookingsOfItemsOwner() {
         List<Booking> result = bookingRepository.findWaitingOrRejectedBookingsOfItemsOwner(Pageable.unpaged(),
-                List.of(item2.getId()), BookingStatus.REJECTED);
+                user2.getId(), BookingStatus.REJECTED,
+                PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE);
 
         assertBookingDetails_findWaitingOrRejectedBookingsOfItemsOwner_findWaitingOrRejectedBookingsOfUser(result);
     }
 
     @Test
-    void findApprovedItemsBookings() {
-        List<Booking> result = bookingRepository.findApprovedItemsBookings(List.of(item2.getId()));
+    void findNearestItemsBookings() {
+        Map<String, ItemNearestBooking> result = bookingRepository
+                .findNearestItemsBookings(List.of(item.getId(), item2.getId()), LocalDateTime.now()).stream()
+                .collect(Collectors.toMap(b -> b.getItemId() + b.getKind(), Function.identity()));
 
         assertEquals(3, result.size());
-        assertEquals(booking.getId(), result.get(0).getId());
-        assertEquals(booking2.getId(), result.get(1).getId());
-        assertEquals(booking3.getId(), result.get(2).getId());
+        assertEquals(booking.getId(), result.get(item2.getId() + ItemNearestBooking.LAST).getId());
+        assertEquals(user.getId(), result.get(item2.getId() + ItemNearestBooking.LAST).getBookerId());
+        assertEquals(booking2.getId(), result.get(item2.getId() + ItemNearestBooking.NEXT).getId());
+        assertEquals(bookingRepository.findById(booking2.getId()).orElseThrow().getStart(),
+                result.get(item2.getId() + ItemNearestBooking.NEXT).getStart());
+        assertEquals(booking5.getId(), result.get(item.getId() + ItemNearestBooking.LAST).getId());
+    }
+
+    @Test
+    void countItemsBookings() {
+        Map<Long, ItemBookingCounts> result = bookingRepository
+                .countItemsBookings(List.of(item.getId(), item2.getId())).stream()
+                .collect(Collectors.toMap(ItemBookingCounts::getItemId, Function.identity()));
+
+        assertEquals(2, result.size());
+        assertEquals(4, result.get(item2.getId()).getBookingsCount());
+        assertEquals(3, result.get(item2.getId()).getApprovedCount());
+        assertEquals(2, result.get(item.getId()).getBookingsCount());
+        assertEquals(2, result.get(item.getId()).getApprovedCount());
     }
 
     @Test
@@ -192,17 +234,65 @@ class BookingRepositoryTest {
         assertEquals(booking2.getId(), result.get(2).getId());
     }
 
+    @Test
+    void existsApprovedOverlap() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime storedEnd = bookingRepository.findById(booking.getId()).orElseThrow().getEnd();
+
+        assertTrue(bookingRepository.existsApprovedOverlap(item2.getId(), now, now.plusDays(2), 0));
+        assertFalse(bookingRepository.existsApprovedOverlap(item2.getId(), now, now.plusDays(2), booking.getId()));
+        assertFalse(bookingRepository.existsApprovedOverlap(item2.getId(), storedEnd, storedEnd.plusDays(1), 0));
+        assertFalse(bookingRepository.existsApprovedOverlap(item2.getId(), booking4.getStart(),
+                booking4.getEnd(), 0));
+    }
+
+    @Test
+    void findApprovedIntervals() {
+        List<BookingInterval> result = bookingRepository.findApprovedIntervals(item2.getId(), LocalDateTime.now());
+
+        assertEquals(2, result.size());
+        assertEquals(Set.of(seconds(booking.getStart()), seconds(booking2.getStart())), result.stream()
+                .map(interval -> seconds(interval.getStart()))
+                .collect(Collectors.toSet()));
+        assertEquals(Set.of(seconds(booking.getEnd()), seconds(booking2.getEnd())), result.stream()
+                .map(interval -> seconds(interval.getEnd()))
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void findOccupiedIntervals() {
+        List<OccupiedInterval> result = bookingRepository.findOccupiedIntervals(item2.getId(), LocalDateTime.now());
+
+        assertEquals(Set.of(booking.getId(), booking2.getId()), result.stream()
+                .map(OccupiedInterval::getId)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void findOccupiedIntervals_withinPeriod() {
+        List<OccupiedInterval> result = bookingRepository.findOccupiedIntervals(item2.getId(),
+                LocalDateTime.now().minusMonths(2).plusDays(1), LocalDateTime.now().minusDays(2));
+
+        assertEquals(Set.of(booking3.getId()), result.stream()
+                .map(OccupiedInterval::getId)
+                .collect(Collectors.toSet()));
+    }
+
     @AfterAll
     void afterAll() {
         bookingRepository.deleteAll();
         itemRepository.deleteAll();
         userRepository.deleteAll();
-        jdbcTemplate.execute("ALTER TABLE bookings ALTER COLUMN ID RESTART WITH 1;");
-        jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN ID RESTART WITH 1;");
-        jdbcTemplate.execute("ALTER TABLE items ALTER COLUMN ID RESTART WITH 1;");
+        jdbcTemplate.execute("ALTER SEQUENCE bookings_seq RESTART WITH 1;");
+        jdbcTemplate.execute("ALTER SEQUENCE users_seq RESTART WITH 1;");
+        jdbcTemplate.execute("ALTER SEQUENCE items_seq RESTART WITH 1;");
+    }
+
+    private static LocalDateTime seconds(LocalDateTime dateTime) {
+        return dateTime.truncatedTo(ChronoUnit.SECONDS);
     }
 
-    private void assertBookingDetails_findAllByItemsIds_findAllByBookerIdOrderByEndDesc(List<Booking> result) {
+    private void assertBookingDetails_findAllBookingsOfItemsOwner_findAllByBookerIdOrderByEndDesc(List<Booking> result) {
         assertEquals(4, result.size());
         assertEquals(booking2.getId(), result.get(0).getId());
         assertEquals(booking.getId(), result.get(1).getId());
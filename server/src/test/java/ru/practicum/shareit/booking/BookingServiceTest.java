@@ -10,12 +10,16 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.*;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserBookingDto;
+import ru.practicum.shareit.user.UserExistenceIndex;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserRepository;
 
@@ -32,12 +36,24 @@ public class BookingServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceIndex userExistenceIndex;
+
     @Mock
     private BookingRepository bookingRepository;
 
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ItemBookingSummaryService itemBookingSummaryService;
+
+    @Mock
+    private ItemBookingIntervals itemBookingIntervals;
+
+    @Mock
+    private ItemOccupancyIndex itemOccupancyIndex;
+
     @Spy
     @InjectMocks
     private BookingServiceImpl bookingService;
@@ -48,7 +64,7 @@ public class BookingServiceTest {
     User user2;
     UserBookingDto userBookingDto;
     ItemRequest itemRequest;
-    PageRequest pageRequest = PageRequest.of(2, 5);
+    OffsetPageRequest pageRequest = OffsetPageRequest.of(10, 5);
     Booking booking;
     BookingDto bookingDto;
     SavedBookingDto savedBookingDto;
@@ -92,7 +108,7 @@ public class BookingServiceTest {
             mockStaticUser.when(() -> UserMapper.toUserBookingDto(user2))
                     .thenReturn(userBookingDto);
 
-            SavedBookingDto savedBookingDtoActual = bookingService.getBookingById(bookingId, user2Id);
+            SavedBookingDto savedBookingDtoActual = bookingService.getBookingById(bookingId, user2Id).getContent();
 
             assertEquals(expectedBookingDto, savedBookingDtoActual);
             assertEquals(expectedBookingDto.getBooker().getId(), savedBookingDtoActual.getBooker().getId());
@@ -122,72 +138,95 @@ public class BookingServiceTest {
     @Test
     void getBookingsOfUser_shouldBeFound_case_ALL() {
         try (MockedStatic<BookingMapper> mockStaticBooking = mockStatic(BookingMapper.class)) {
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-            when(bookingRepository.findAllByBookerIdOrderByEndDesc(pageRequest, userId)).thenReturn(List.of((booking)));
+            when(bookingRepository.findAllByBookerIdOrderByEndDesc(pageRequest, userId,
+                    PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE)).thenReturn(List.of((booking)));
             mockStaticBooking.when(() -> BookingMapper.toSavedBookingDtoList(List.of(booking)))
                     .thenReturn(List.of(savedBookingDto));
 
             List<SavedBookingDto> savedBookingDtoListActual = bookingService
-                    .getBookingsOfUser(10, 5, "ALL", userId);
+                    .getBookingsOfUser(10, 5, "ALL", userId, "").getContent();
 
             assertEquals(List.of(savedBookingDto), savedBookingDtoListActual);
-            verify(userRepository).findById(userId);
-            verify(bookingRepository).findAllByBookerIdOrderByEndDesc(pageRequest, userId);
+            verify(userExistenceIndex).requireExists(userId);
+            verify(bookingRepository).findAllByBookerIdOrderByEndDesc(pageRequest, userId,
+                    PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE);
         }
     }
 
+    @Test
+    void getBookingsOfUser_withCursor_shouldSeekFromCursorKey() {
+        try (MockedStatic<BookingMapper> mockStaticBooking = mockStatic(BookingMapper.class)) {
+            LocalDateTime cursorEnd = LocalDateTime.of(2030, 1, 1, 12, 0);
+            String cursor = PageCursor.of(cursorEnd, 7).encode();
+            when(bookingRepository.findAllByBookerIdOrderByEndDesc(OffsetPageRequest.of(0, 1), userId, cursorEnd, 7))
+                    .thenReturn(List.of(booking));
+            mockStaticBooking.when(() -> BookingMapper.toSavedBookingDtoList(List.of(booking)))
+                    .thenReturn(List.of(savedBookingDto));
+
+            CursorPage<SavedBookingDto> page = bookingService.getBookingsOfUser(10, 1, "ALL", userId, cursor);
+
+            assertEquals(List.of(savedBookingDto), page.getContent());
+            assertEquals(PageCursor.of(booking.getEnd(), bookingId).encode(), page.getNextCursor());
+            verify(bookingRepository).findAllByBookerIdOrderByEndDesc(OffsetPageRequest.of(0, 1), userId, cursorEnd, 7);
+        }
+    }
+
+    @Test
+    void getBookingsOfUser_invalidCursor_fail() {
+
+        assertThrows(InvalidCursorException.class, () -> bookingService.getBookingsOfUser(0, 5, "ALL", userId,
+                "not a cursor"));
+    }
+
     @Test
     void getBookingsOfUser_shouldBeFound_case_CURRENT() {
         try (MockedStatic<BookingMapper> mockStaticBooking = mockStatic(BookingMapper.class)) {
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-            when(bookingRepository.findCurrentBookingsOfUser(any(PageRequest.class), anyLong(), anyList(),
-                    any(LocalDateTime.class))).thenReturn(List.of(booking));
+            when(bookingRepository.findCurrentBookingsOfUser(any(Pageable.class), anyLong(), anyList(),
+                    any(LocalDateTime.class), any(LocalDateTime.class), anyLong())).thenReturn(List.of(booking));
             mockStaticBooking.when(() -> BookingMapper.toSavedBookingDtoList(List.of(booking)))
                     .thenReturn(List.of(savedBookingDto));
 
             List<SavedBookingDto> savedBookingDtoListActual = bookingService
-                    .getBookingsOfUser(10, 5, "CURRENT", userId);
+                    .getBookingsOfUser(10, 5, "CURRENT", userId, "").getContent();
 
             assertEquals(List.of(savedBookingDto), savedBookingDtoListActual);
-            verify(userRepository).findById(userId);
-            verify(bookingRepository).findCurrentBookingsOfUser(any(PageRequest.class), anyLong(),
-                    anyList(), any(LocalDateTime.class));
+            verify(userExistenceIndex).requireExists(userId);
+            verify(bookingRepository).findCurrentBookingsOfUser(any(Pageable.class), anyLong(),
+                    anyList(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong());
         }
     }
 
     @Test
     void getBookingsOfUser_shouldBeFound_case_PAST() {
         try (MockedStatic<BookingMapper> mockStaticBooking = mockStatic(BookingMapper.class)) {
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-            when(bookingRepository.findPastBookingsOfUser(any(PageRequest.class), anyLong(), any(LocalDateTime.class)))
+            when(bookingRepository.findPastBookingsOfUser(any(Pageable.class), anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong()))
                     .thenReturn(List.of(booking));
             mockStaticBooking.when(() -> BookingMapper.toSavedBookingDtoList(List.of(booking)))
                     .thenReturn(List.of(savedBookingDto));
 
             List<SavedBookingDto> savedBookingDtoListActual = bookingService
-                    .getBookingsOfUser(10, 5, "PAST", userId);
+                    .getBookingsOfUser(10, 5, "PAST", userId, "").getContent();
 
             assertEquals(List.of(savedBookingDto), savedBookingDtoListActual);
-            verify(userRepository).findById(userId);
-            verify(bookingRepository).findPastBookingsOfUser(any(PageRequest.class), anyLong(), any(LocalDateTime.class));
+            verify(userExistenceIndex).requireExists(userId);
+            verify(bookingRepository).findPastBookingsOfUser(any(Pageable.class), anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong());
         }
     }
 
     @Test
     void getBookingsOfUser_shouldBeFound_case_FUTURE() {
         try (MockedStatic<BookingMapper> mockStaticBooking = mockStatic(BookingMapper.class)) {
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-            when(bookingRepository.findFutureBookingsOfUser(any(PageRequest.class), anyLong(), any(LocalDateTime.class)))
+            when(bookingRepository.findFutureBookingsOfUser(any(Pageable.class), anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong()))
                     .thenReturn(List.of(booking));
             mockStaticBooking.when(() -> BookingMapper.toSavedBookingDtoList(List.of(booking)))
                     .thenReturn(List.of(savedBookingDto));
 
             List<SavedBookingDto> savedBookingDtoListActual = bookingService
-                    .getBookingsOfUser(10, 5, "FUTURE", userId);
+                    .getBookingsOfUser(10, 5, "FUTURE", userId, "").getContent();
 
             assertEquals(List.of(savedBookingDto), savedBookingDtoListActual);
-            verify(userRepository).findById(userId);
-            verify(bookingRepository).findFutureBookingsOfUser(any(PageRequest.class), anyLong(), any(LocalDateTime.class));
+            verify(userExistenceIndex).requireExists(userId);
+            verify(bookingRepository).findFutureBookingsOfUser(any(Pageable.class), anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong());
         }
     }
 
@@ -195,112 +234,102 @@ public class BookingServiceTest {
     @ValueSource(strings = {"WAITING", "REJECTED"})
     void getBookingsOfUser_shouldBeFound_case_WAITING_OR_REJECTED(String status) {
         try (MockedStatic<BookingMapper> mockStaticBooking = mockStatic(BookingMapper.class)) {
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-            when(bookingRepository.findWaitingOrRejectedBookingsOfUser(any(PageRequest.class), anyLong(),
-                    any(BookingStatus.class)))
+            when(bookingRepository.findWaitingOrRejectedBookingsOfUser(any(Pageable.class), anyLong(),
+                    any(BookingStatus.class), any(LocalDateTime.class),
+                    anyLong()))
                     .thenReturn(List.of(booking));
             mockStaticBooking.when(() -> BookingMapper.toSavedBookingDtoList(List.of(booking)))
                     .thenReturn(List.of(savedBookingDto));
 
             List<SavedBookingDto> savedBookingDtoListActual = bookingService
-                    .getBookingsOfUser(10, 5, status, userId);
+                    .getBookingsOfUser(10, 5, status, userId, "").getContent();
 
             assertEquals(List.of(savedBookingDto), savedBookingDtoListActual);
-            verify(userRepository).findById(userId);
-            verify(bookingRepository).findWaitingOrRejectedBookingsOfUser(any(PageRequest.class), anyLong(),
-                    any(BookingStatus.class));
+            verify(userExistenceIndex).requireExists(userId);
+            verify(bookingRepository).findWaitingOrRejectedBookingsOfUser(any(Pageable.class), anyLong(),
+                    any(BookingStatus.class), any(LocalDateTime.class),
+                    anyLong());
         }
     }
 
     @Test
     void getBookingsOfUser_unsupportedState_fail() {
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 
         assertThrows(NoSuchStateForBookingSearchException.class, () -> bookingService.getBookingsOfUser(10,
-                5, "FUTUREPAST", userId));
+                5, "FUTUREPAST", userId, ""));
 
-        verify(userRepository).findById(userId);
+        verify(userExistenceIndex).requireExists(userId);
     }
 
     @Test
     void getBookingsOfItemsOwner_shouldBeFound_case_ALL() {
         try (MockedStatic<BookingMapper> mockStaticBooking = mockStatic(BookingMapper.class)) {
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-            when(bookingRepository.getItemsIdsOfOwner(userId)).thenReturn(List.of(itemId));
-            when(bookingRepository.findAllByItemsIds(pageRequest, List.of(itemId))).thenReturn(List.of((booking)));
+            when(bookingRepository.findAllBookingsOfItemsOwner(pageRequest, userId,
+                    PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE)).thenReturn(List.of((booking)));
             mockStaticBooking.when(() -> BookingMapper.toSavedBookingDtoList(List.of(booking)))
                     .thenReturn(List.of(savedBookingDto));
 
             List<SavedBookingDto> savedBookingDtoListActual = bookingService
-                    .getBookingsOfItemsOwner(10, 5, "ALL", userId);
+                    .getBookingsOfItemsOwner(10, 5, "ALL", userId, "").getContent();
 
             assertEquals(List.of(savedBookingDto), savedBookingDtoListActual);
-            verify(userRepository).findById(userId);
-            verify(bookingRepository).getItemsIdsOfOwner(userId);
-            verify(bookingRepository).findAllByItemsIds(pageRequest, List.of(itemId));
+            verify(userExistenceIndex).requireExists(userId);
+            verify(bookingRepository).findAllBookingsOfItemsOwner(pageRequest, userId,
+                    PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE);
         }
     }
 
     @Test
     void getBookingsOfItemsOwner_shouldBeFound_case_CURRENT() {
         try (MockedStatic<BookingMapper> mockStaticBooking = mockStatic(BookingMapper.class)) {
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-            when(bookingRepository.getItemsIdsOfOwner(userId)).thenReturn(List.of(itemId));
-            when(bookingRepository.findCurrentBookingsOfItemsOwner(any(PageRequest.class), anyList(),
-                    anyList(), any(LocalDateTime.class))).thenReturn(List.of(booking));
+            when(bookingRepository.findCurrentBookingsOfItemsOwner(any(Pageable.class), anyLong(),
+                    anyList(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong())).thenReturn(List.of(booking));
             mockStaticBooking.when(() -> BookingMapper.toSavedBookingDtoList(List.of(booking)))
                     .thenReturn(List.of(savedBookingDto));
 
             List<SavedBookingDto> savedBookingDtoListActual = bookingService
-                    .getBookingsOfItemsOwner(10, 5, "CURRENT", userId);
+                    .getBookingsOfItemsOwner(10, 5, "CURRENT", userId, "").getContent();
 
             assertEquals(List.of(savedBookingDto), savedBookingDtoListActual);
-            verify(userRepository).findById(userId);
-            verify(bookingRepository).getItemsIdsOfOwner(userId);
-            verify(bookingRepository).findCurrentBookingsOfItemsOwner(any(PageRequest.class), anyList(),
-                    anyList(), any(LocalDateTime.class));
+            verify(userExistenceIndex).requireExists(userId);
+            verify(bookingRepository).findCurrentBookingsOfItemsOwner(any(Pageable.class), anyLong(),
+                    anyList(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong());
         }
     }
 
     @Test
     void getBookingsOfItemsOwner_shouldBeFound_case_PAST() {
         try (MockedStatic<BookingMapper> mockStaticBooking = mockStatic(BookingMapper.class)) {
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-            when(bookingRepository.getItemsIdsOfOwner(userId)).thenReturn(List.of(itemId));
-            when(bookingRepository.findPastBookingsOfItemsOwner(any(PageRequest.class), anyList(),
-                    any(LocalDateTime.class))).thenReturn(List.of(booking));
+            when(bookingRepository.findPastBookingsOfItemsOwner(any(Pageable.class), anyLong(),
+                    any(LocalDateTime.class), any(LocalDateTime.class), anyLong())).thenReturn(List.of(booking));
             mockStaticBooking.when(() -> BookingMapper.toSavedBookingDtoList(List.of(booking)))
                     .thenReturn(List.of(savedBookingDto));
 
             List<SavedBookingDto> savedBookingDtoListActual = bookingService
-                    .getBookingsOfItemsOwner(10, 5, "PAST", userId);
+                    .getBookingsOfItemsOwner(10, 5, "PAST", userId, "").getContent();
 
             assertEquals(List.of(savedBookingDto), savedBookingDtoListActual);
-            verify(userRepository).findById(userId);
-            verify(bookingRepository).getItemsIdsOfOwner(userId);
-            verify(bookingRepository).findPastBookingsOfItemsOwner(any(PageRequest.class), anyList(),
-                    any(LocalDateTime.class));
+            verify(userExistenceIndex).requireExists(userId);
+            verify(bookingRepository).findPastBookingsOfItemsOwner(any(Pageable.class), anyLong(),
+                    any(LocalDateTime.class), any(LocalDateTime.class), anyLong());
         }
     }
 
     @Test
     void getBookingsOfItemsOwner_shouldBeFound_case_FUTURE() {
         try (MockedStatic<BookingMapper> mockStaticBooking = mockStatic(BookingMapper.class)) {
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-            when(bookingRepository.getItemsIdsOfOwner(userId)).thenReturn(List.of(itemId));
-            when(bookingRepository.findFutureBookingsOfItemsOwner(any(PageRequest.class), anyList(),
-                    any(LocalDateTime.class))).thenReturn(List.of(booking));
+            when(bookingRepository.findFutureBookingsOfItemsOwner(any(Pageable.class), anyLong(),
+                    any(LocalDateTime.class), any(LocalDateTime.class), anyLong())).thenReturn(List.of(booking));
             mockStaticBooking.when(() -> BookingMapper.toSavedBookingDtoList(List.of(booking)))
                     .thenReturn(List.of(savedBookingDto));
 
             List<SavedBookingDto> savedBookingDtoListActual = bookingService
-                    .getBookingsOfItemsOwner(10, 5, "FUTURE", userId);
+                    .getBookingsOfItemsOwner(10, 5, "FUTURE", userId, "").getContent();
 
             assertEquals(List.of(savedBookingDto), savedBookingDtoListActual);
-            verify(userRepository).findById(userId);
-            verify(bookingRepository).getItemsIdsOfOwner(userId);
-            verify(bookingRepository).findFutureBookingsOfItemsOwner(any(PageRequest.class), anyList(),
-                    any(LocalDateTime.class));
+            verify(userExistenceIndex).requireExists(userId);
+            verify(bookingRepository).findFutureBookingsOfItemsOwner(any(Pageable.class), anyLong(),
+                    any(LocalDateTime.class), any(LocalDateTime.class), anyLong());
         }
     }
 
@@ -308,35 +337,31 @@ public class BookingServiceTest {
     @ValueSource(strings = {"WAITING", "REJECTED"})
     void getBookingsOfItemsOwner_shouldBeFound_case_WAITING_or_REJECTED(String state) {
         try (MockedStatic<BookingMapper> mockStaticBooking = mockStatic(BookingMapper.class)) {
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-            when(bookingRepository.getItemsIdsOfOwner(userId)).thenReturn(List.of(itemId));
-            when(bookingRepository.findWaitingOrRejectedBookingsOfItemsOwner(any(PageRequest.class), anyList(),
-                    any(BookingStatus.class))).thenReturn(List.of(booking));
+            when(bookingRepository.findWaitingOrRejectedBookingsOfItemsOwner(any(Pageable.class), anyLong(),
+                    any(BookingStatus.class), any(LocalDateTime.class),
+                    anyLong())).thenReturn(List.of(booking));
             mockStaticBooking.when(() -> BookingMapper.toSavedBookingDtoList(List.of(booking)))
                     .thenReturn(List.of(savedBookingDto));
 
 
             List<SavedBookingDto> savedBookingDtoListActual = bookingService
-                    .getBookingsOfItemsOwner(10, 5, state, userId);
+                    .getBookingsOfItemsOwner(10, 5, state, userId, "").getContent();
 
             assertEquals(List.of(savedBookingDto), savedBookingDtoListActual);
-            verify(userRepository).findById(userId);
-            verify(bookingRepository).getItemsIdsOfOwner(userId);
-            verify(bookingRepository).findWaitingOrRejectedBookingsOfItemsOwner(any(PageRequest.class), anyList(),
-                    any(BookingStatus.class));
+            verify(userExistenceIndex).requireExists(userId);
+            verify(bookingRepository).findWaitingOrRejectedBookingsOfItemsOwner(any(Pageable.class), anyLong(),
+                    any(BookingStatus.class), any(LocalDateTime.class),
+                    anyLong());
         }
     }
 
     @Test
     void getBookingsOfItemsOwner_unsupportedState_fail() {
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.getItemsIdsOfOwner(userId)).thenReturn(List.of(itemId));
 
         assertThrows(NoSuchStateForBookingSearchException.class, () -> bookingService.getBookingsOfItemsOwner(10,
-                5, "FUTUREPAST", userId));
+                5, "FUTUREPAST", userId, ""));
 
-        verify(userRepository).findById(userId);
-        verify(bookingRepository).getItemsIdsOfOwner(userId);
+        verify(userExistenceIndex).requireExists(userId);
     }
 
     @Test
@@ -363,6 +388,40 @@ public class BookingServiceTest {
             verify(itemRepository).findById(bookingDto.getItemId());
             verify(userRepository).findById(user2Id);
             verify(bookingRepository).save(booking);
+            verify(itemBookingSummaryService).onBookingCreated(booking);
+            verify(itemOccupancyIndex).occupyAfterCommit(booking);
+        }
+    }
+
+    @Test
+    void saveNewBooking_overlapsCachedApprovedBooking_fail() {
+        try (MockedStatic<BookingMapper> mockStaticBooking = mockStatic(BookingMapper.class)) {
+            mockStaticBooking.when(() -> BookingMapper.toBooking(bookingDto))
+                    .thenReturn(booking);
+            when(itemRepository.findById(bookingDto.getItemId())).thenReturn(Optional.of(item));
+            when(itemBookingIntervals.overlaps(itemId, booking.getStart(), booking.getEnd())).thenReturn(true);
+
+            assertThrows(BookingOverlapException.class, () -> bookingService.saveNewBooking(bookingDto, user2Id));
+
+            verify(bookingRepository, never()).existsApprovedOverlap(anyLong(), any(LocalDateTime.class),
+                    any(LocalDateTime.class), anyLong());
+            verify(bookingRepository, never()).save(booking);
+        }
+    }
+
+    @Test
+    void saveNewBooking_whenIntervalsCacheIsStale_shouldCheckDatabase() {
+        try (MockedStatic<BookingMapper> mockStaticBooking = mockStatic(BookingMapper.class)) {
+            mockStaticBooking.when(() -> BookingMapper.toBooking(bookingDto))
+                    .thenReturn(booking);
+            when(itemRepository.findById(bookingDto.getItemId())).thenReturn(Optional.of(item));
+            when(itemBookingIntervals.overlaps(itemId, booking.getStart(), booking.getEnd())).thenReturn(false);
+            when(bookingRepository.existsApprovedOverlap(itemId, booking.getStart(), booking.getEnd(), 0))
+                    .thenReturn(true);
+
+            assertThrows(BookingOverlapException.class, () -> bookingService.saveNewBooking(bookingDto, user2Id));
+
+            verify(bookingRepository, never()).save(booking);
         }
     }
 
@@ -427,6 +486,7 @@ public class BookingServiceTest {
         try (MockedStatic<BookingMapper> mockStaticBooking = mockStatic(BookingMapper.class);
              MockedStatic<ItemMapper> mockStaticItem = mockStatic(ItemMapper.class);
              MockedStatic<UserMapper> mockStaticUser = mockStatic(UserMapper.class)) {
+            when(bookingRepository.findForUpdate(bookingId)).thenReturn(Optional.of(booking));
             when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
             when(bookingRepository.save(booking)).thenReturn(booking);
             mockStaticBooking.when(() -> BookingMapper.toSavedBookingDto(booking))
@@ -440,38 +500,76 @@ public class BookingServiceTest {
                     .updateBooking(bookingId, userId, true);
 
             assertEquals(savedBookingDto, savedBookingDtoActual);
+            verify(bookingRepository).findForUpdate(bookingId);
             verify(bookingRepository).findById(bookingId);
             verify(bookingRepository).save(booking);
+            verify(itemRepository).findForUpdate(itemId);
+            verify(itemBookingIntervals).evictAfterCommit(itemId);
+            verify(itemBookingSummaryService).onBookingApproved(booking);
+            verify(itemOccupancyIndex).occupyAfterCommit(booking);
         }
     }
 
+    @Test
+    void updateBooking_rejected_shouldReleaseOccupancy() {
+        booking.setStatus(BookingStatus.WAITING);
+        when(bookingRepository.findForUpdate(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.save(booking)).thenReturn(booking);
+
+        SavedBookingDto savedBookingDtoActual = bookingService.updateBooking(bookingId, userId, false);
+
+        assertEquals(BookingStatus.REJECTED, savedBookingDtoActual.getStatus());
+        verify(itemOccupancyIndex).releaseAfterCommit(booking);
+        verify(itemRepository, never()).findForUpdate(itemId);
+        verify(itemBookingSummaryService, never()).onBookingApproved(booking);
+    }
+
+    @Test
+    void updateBooking_overlapsApprovedBooking_fail() {
+        booking.setStatus(BookingStatus.WAITING);
+        when(bookingRepository.findForUpdate(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsApprovedOverlap(itemId, booking.getStart(), booking.getEnd(), bookingId))
+                .thenReturn(true);
+
+        assertThrows(BookingOverlapException.class, () -> bookingService
+                .updateBooking(bookingId, userId, true));
+
+        verify(itemRepository).findForUpdate(itemId);
+        verify(bookingRepository, never()).save(booking);
+        verify(itemBookingIntervals, never()).evictAfterCommit(itemId);
+    }
+
     @Test
     void updateBooking_bookingNotFound_fail() {
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
+        when(bookingRepository.findForUpdate(bookingId)).thenReturn(Optional.empty());
 
         assertThrows(BookingNotFoundException.class, () -> bookingService
                 .updateBooking(bookingId, userId, true));
 
-        verify(bookingRepository).findById(bookingId);
+        verify(bookingRepository).findForUpdate(bookingId);
     }
 
     @Test
     void updateBooking_bookingNotBelongToUser_fail() {
+        when(bookingRepository.findForUpdate(bookingId)).thenReturn(Optional.of(booking));
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         assertThrows(BookingNotBelongException.class, () -> bookingService
                 .updateBooking(bookingId, user2Id, true));
 
-        verify(bookingRepository).findById(bookingId);
+        verify(bookingRepository).findForUpdate(bookingId);
     }
 
     @Test
     void updateBooking_bookingAlreadyConfirmed_fail() {
+        when(bookingRepository.findForUpdate(bookingId)).thenReturn(Optional.of(booking));
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         assertThrows(BookingAlreadyApprovedException.class, () -> bookingService
                 .updateBooking(bookingId, userId, true));
 
-        verify(bookingRepository).findById(bookingId);
+        verify(bookingRepository).findForUpdate(bookingId);
     }
 }
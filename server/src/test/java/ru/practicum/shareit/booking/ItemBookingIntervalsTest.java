@@ -0,0 +1,92 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBookingIntervalsTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private ItemBookingIntervals itemBookingIntervals;
+
+    LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+    long itemId = 1;
+
+    @BeforeEach
+    void setUp() {
+        itemBookingIntervals = new ItemBookingIntervals(bookingRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void approvedIntervals_shouldMergeAdjacentAndOverlappingSegments() {
+        ItemBookingIntervals.ApprovedIntervals intervals = new ItemBookingIntervals.ApprovedIntervals();
+        intervals.add(hours(0), hours(2));
+        intervals.add(hours(4), hours(6));
+        intervals.add(hours(2), hours(3));
+        intervals.add(hours(1), hours(5));
+
+        assertTrue(intervals.overlaps(hours(5), hours(7)));
+        assertFalse(intervals.overlaps(hours(6), hours(8)));
+        assertFalse(intervals.overlaps(hours(-2), hours(0)));
+    }
+
+    @Test
+    void approvedIntervals_shouldFindOverlapsBetweenDisjointSegments() {
+        ItemBookingIntervals.ApprovedIntervals intervals = new ItemBookingIntervals.ApprovedIntervals();
+        intervals.add(hours(0), hours(2));
+        intervals.add(hours(10), hours(12));
+
+        assertFalse(intervals.overlaps(hours(2), hours(10)));
+        assertTrue(intervals.overlaps(hours(1), hours(3)));
+        assertTrue(intervals.overlaps(hours(9), hours(11)));
+        assertTrue(intervals.overlaps(hours(-1), hours(13)));
+        assertFalse(intervals.overlaps(hours(3), hours(3)));
+    }
+
+    @Test
+    void overlaps_shouldLoadApprovedIntervalsOnceUntilEvicted() {
+        when(bookingRepository.findApprovedIntervals(eq(itemId), any(LocalDateTime.class)))
+                .thenReturn(List.of(interval(hours(0), hours(2))));
+
+        assertTrue(itemBookingIntervals.overlaps(itemId, hours(1), hours(3)));
+        assertFalse(itemBookingIntervals.overlaps(itemId, hours(2), hours(3)));
+        itemBookingIntervals.evictAfterCommit(itemId);
+        assertTrue(itemBookingIntervals.overlaps(itemId, hours(1), hours(3)));
+
+        verify(bookingRepository, times(2)).findApprovedIntervals(eq(itemId), any(LocalDateTime.class));
+    }
+
+    private LocalDateTime hours(long hours) {
+        return base.plusHours(hours);
+    }
+
+    private static BookingInterval interval(LocalDateTime start, LocalDateTime end) {
+        return new BookingInterval() {
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ItemBookingSummaryRepositoryTest {
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemBookingSummaryRepository itemBookingSummaryRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    User user;
+    Item item;
+    Item item2;
+    Item item3;
+
+    @BeforeAll
+    void beforeAll() {
+        user = userRepository.save(User.builder().name("user").email("user@mail.com").build());
+        item = itemRepository.save(Item.builder().name("item").description("item Description").available(true)
+                .owner(user).build());
+        item2 = itemRepository.save(Item.builder().name("item2").description("item2 Description").available(true)
+                .owner(user).build());
+        item3 = itemRepository.save(Item.builder().name("item3").description("item3 Description").available(true)
+                .owner(user).build());
+        itemBookingSummaryRepository.save(ItemBookingSummary.builder().itemId(item.getId())
+                .nextBookingId(1L).nextBookerId(user.getId()).nextStart(LocalDateTime.now().minusHours(1)).build());
+        itemBookingSummaryRepository.save(ItemBookingSummary.builder().itemId(item2.getId())
+                .nextBookingId(2L).nextBookerId(user.getId()).nextStart(LocalDateTime.now().plusDays(1)).build());
+    }
+
+    @Test
+    void findStaleItemsIds() {
+        List<Long> result = itemBookingSummaryRepository.findStaleItemsIds(LocalDateTime.now(), PageRequest.of(0, 10));
+
+        assertEquals(List.of(item.getId()), result);
+    }
+
+    @Test
+    void findItemsIdsWithoutSummary() {
+        List<Long> result = itemBookingSummaryRepository.findItemsIdsWithoutSummary(PageRequest.of(0, 10));
+
+        assertEquals(List.of(item3.getId()), result);
+    }
+
+    @Test
+    void findAllForUpdate() {
+        List<ItemBookingSummary> result = itemBookingSummaryRepository
+                .findAllForUpdate(List.of(item.getId(), item3.getId()));
+
+        assertEquals(1, result.size());
+        assertEquals(item.getId(), result.get(0).getItemId());
+    }
+
+    @AfterAll
+    void afterAll() {
+        itemBookingSummaryRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+        jdbcTemplate.execute("ALTER SEQUENCE users_seq RESTART WITH 1;");
+        jdbcTemplate.execute("ALTER SEQUENCE items_seq RESTART WITH 1;");
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBookingSummaryServiceTest {
+    @Mock
+    private ItemBookingSummaryRepository itemBookingSummaryRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private ItemBookingSummaryService itemBookingSummaryService;
+
+    User booker;
+    Item item;
+    Booking booking;
+    ItemBookingSummary summary;
+    long itemId = 1;
+
+    @BeforeEach
+    void setUp() {
+        booker = User.builder().id(2).name("booker").email("booker@mail.com").build();
+        item = Item.builder().id(itemId).available(true).build();
+        booking = Booking.builder().id(10).item(item).booker(booker)
+                .start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2))
+                .status(BookingStatus.APPROVED).build();
+        summary = ItemBookingSummary.builder().itemId(itemId)
+                .lastBookingId(5L).lastBookerId(3L).lastStart(LocalDateTime.now().minusDays(3))
+                .nextBookingId(6L).nextBookerId(3L).nextStart(LocalDateTime.now().plusDays(3))
+                .bookingsCount(2).approvedCount(2).build();
+    }
+
+    @Test
+    void findNearestBookings_shouldReadActualSummary() {
+        when(itemBookingSummaryRepository.findAllById(List.of(itemId))).thenReturn(List.of(summary));
+
+        List<ItemNearestBooking> result = itemBookingSummaryService.findNearestBookings(List.of(itemId));
+
+        assertEquals(2, result.size());
+        assertEquals(ItemNearestBooking.LAST, result.get(0).getKind());
+        assertEquals(5L, result.get(0).getId());
+        assertEquals(ItemNearestBooking.NEXT, result.get(1).getKind());
+        assertEquals(6L, result.get(1).getId());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void findNearestBookings_shouldFallBackForStaleOrMissingSummary() {
+        summary.setNextStart(LocalDateTime.now().minusMinutes(1));
+        ItemNearestBooking nearestBooking = mock(ItemNearestBooking.class);
+        when(itemBookingSummaryRepository.findAllById(List.of(itemId, 2L))).thenReturn(List.of(summary));
+        when(bookingRepository.findNearestItemsBookings(eq(List.of(itemId, 2L)), any(LocalDateTime.class)))
+                .thenReturn(List.of(nearestBooking));
+
+        List<ItemNearestBooking> result = itemBookingSummaryService.findNearestBookings(List.of(itemId, 2L));
+
+        assertEquals(List.of(nearestBooking), result);
+    }
+
+    @Test
+    void onBookingCreated_shouldIncrementBookingsCount() {
+        when(itemBookingSummaryRepository.findForUpdate(itemId)).thenReturn(Optional.of(summary));
+
+        itemBookingSummaryService.onBookingCreated(booking);
+
+        assertEquals(3, summary.getBookingsCount());
+        assertEquals(2, summary.getApprovedCount());
+        verify(itemBookingSummaryRepository).save(summary);
+    }
+
+    @Test
+    void onBookingApproved_shouldReplaceLaterNextBooking() {
+        when(itemBookingSummaryRepository.findForUpdate(itemId)).thenReturn(Optional.of(summary));
+
+        itemBookingSummaryService.onBookingApproved(booking);
+
+        assertEquals(3, summary.getApprovedCount());
+        assertEquals(booking.getId(), summary.getNextBookingId());
+        assertEquals(booker.getId(), summary.getNextBookerId());
+        assertEquals(5L, summary.getLastBookingId());
+    }
+
+    @Test
+    void onBookingApproved_shouldKeepLaterLastBooking() {
+        booking.setStart(LocalDateTime.now().minusDays(5));
+        when(itemBookingSummaryRepository.findForUpdate(itemId)).thenReturn(Optional.of(summary));
+
+        itemBookingSummaryService.onBookingApproved(booking);
+
+        assertEquals(5L, summary.getLastBookingId());
+        assertEquals(6L, summary.getNextBookingId());
+    }
+
+    @Test
+    void reconcile_shouldRollNextBookingOver() {
+        summary.setNextStart(LocalDateTime.now().minusMinutes(1));
+        ItemNearestBooking lastBooking = mock(ItemNearestBooking.class);
+        when(lastBooking.getItemId()).thenReturn(itemId);
+        when(lastBooking.getId()).thenReturn(6L);
+        when(lastBooking.getBookerId()).thenReturn(3L);
+        when(lastBooking.getKind()).thenReturn(ItemNearestBooking.LAST);
+        ItemBookingCounts counts = mock(ItemBookingCounts.class);
+        when(counts.getItemId()).thenReturn(itemId);
+        when(counts.getBookingsCount()).thenReturn(2L);
+        when(counts.getApprovedCount()).thenReturn(2L);
+        when(itemBookingSummaryRepository.findStaleItemsIds(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(itemId));
+        when(itemBookingSummaryRepository.findItemsIdsWithoutSummary(any(Pageable.class))).thenReturn(List.of());
+        when(itemBookingSummaryRepository.findAllForUpdate(List.of(itemId))).thenReturn(List.of(summary));
+        when(bookingRepository.countItemsBookings(List.of(itemId))).thenReturn(List.of(counts));
+        when(bookingRepository.findNearestItemsBookings(eq(List.of(itemId)), any(LocalDateTime.class)))
+                .thenReturn(List.of(lastBooking));
+
+        itemBookingSummaryService.reconcile();
+
+        verify(itemBookingSummaryRepository).saveAll(anyCollection());
+        assertEquals(6L, summary.getLastBookingId());
+        assertNull(summary.getNextBookingId());
+        assertNull(summary.getNextStart());
+        assertEquals(2, summary.getApprovedCount());
+    }
+
+    @Test
+    void onBookingsDeleted_shouldRecomputeAffectedSummaries() {
+        when(itemBookingSummaryRepository.findAllForUpdate(List.of(itemId))).thenReturn(List.of(summary));
+        when(bookingRepository.countItemsBookings(List.of(itemId))).thenReturn(List.of());
+        when(bookingRepository.findNearestItemsBookings(eq(List.of(itemId)), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        itemBookingSummaryService.onBookingsDeleted(List.of(itemId));
+
+        verify(itemBookingSummaryRepository).saveAll(anyCollection());
+        assertNull(summary.getLastBookingId());
+        assertNull(summary.getNextBookingId());
+        assertEquals(0, summary.getBookingsCount());
+    }
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.AvailabilityIntervalDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemAvailabilityDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemOccupancyIndexTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private ItemOccupancyIndex itemOccupancyIndex;
+
+    LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+    long itemId = 1;
+
+    @BeforeEach
+    void setUp() {
+        itemOccupancyIndex = new ItemOccupancyIndex(bookingRepository, 100, Duration.ofMinutes(10), Duration.ofDays(1));
+    }
+
+    @Test
+    void occupancy_shouldMergeOverlappingAndAdjacentBookings() {
+        ItemOccupancyIndex.Occupancy occupancy = new ItemOccupancyIndex.Occupancy(hours(-1000));
+        occupancy.add(1, hours(2), hours(5));
+        occupancy.add(2, hours(4), hours(8));
+        occupancy.add(3, hours(8), hours(10));
+        occupancy.add(4, hours(30), hours(80));
+
+        assertEquals(List.of(interval(hours(2), hours(10)), interval(hours(30), hours(80))),
+                occupancy.busy(hours(0), hours(100)));
+    }
+
+    @Test
+    void occupancy_shouldClipBookingsToRequestedPeriod() {
+        ItemOccupancyIndex.Occupancy occupancy = new ItemOccupancyIndex.Occupancy(hours(-1000));
+        occupancy.add(1, hours(-100), hours(5));
+        occupancy.add(2, hours(40), hours(200));
+
+        assertEquals(List.of(interval(hours(0), hours(5)), interval(hours(40), hours(48))),
+                occupancy.busy(hours(0), hours(48)));
+        assertEquals(List.of(), occupancy.busy(hours(5), hours(40)));
+    }
+
+    @Test
+    void occupancy_shouldForgetRemovedBookings() {
+        ItemOccupancyIndex.Occupancy occupancy = new ItemOccupancyIndex.Occupancy(hours(-1000));
+        occupancy.add(1, hours(2), hours(50));
+        occupancy.add(2, hours(60), hours(70));
+        occupancy.remove(1);
+
+        assertEquals(List.of(interval(hours(60), hours(70))), occupancy.busy(hours(0), hours(100)));
+    }
+
+    @Test
+    void occupancy_shouldHandleBookingsSpanningCenturies() {
+        ItemOccupancyIndex.Occupancy occupancy = new ItemOccupancyIndex.Occupancy(hours(-1000));
+        LocalDateTime farEnd = LocalDateTime.of(9999, 12, 31, 0, 0);
+        occupancy.add(1, hours(10), farEnd);
+
+        assertEquals(List.of(interval(hours(10), hours(48))), occupancy.busy(hours(0), hours(48)));
+        assertEquals(List.of(interval(farEnd.minusDays(1), farEnd)), occupancy.busy(farEnd.minusDays(1), farEnd));
+        occupancy.remove(1);
+        assertEquals(List.of(), occupancy.busy(hours(0), farEnd));
+    }
+
+    @Test
+    void occupancy_shouldPruneBookingsEndedBeforeHorizon() {
+        ItemOccupancyIndex.Occupancy occupancy = new ItemOccupancyIndex.Occupancy(hours(-1000));
+        occupancy.add(1, hours(0), hours(5));
+        occupancy.add(2, hours(4), hours(20));
+        occupancy.prune(hours(6));
+        occupancy.add(3, hours(1), hours(6));
+
+        assertEquals(List.of(interval(hours(6), hours(20))), occupancy.busy(hours(6), hours(48)));
+        occupancy.remove(2);
+        assertEquals(List.of(), occupancy.busy(hours(6), hours(48)));
+    }
+
+    @Test
+    void getAvailability_shouldReadPeriodBeforeHorizonFromDatabase() {
+        LocalDateTime from = LocalDateTime.now().minusDays(30);
+        LocalDateTime to = from.plusDays(2);
+        OccupiedInterval occupied = occupied(1L, from.plusHours(10), from.plusHours(20));
+        when(bookingRepository.findOccupiedIntervals(itemId, from, to)).thenReturn(List.of(occupied));
+
+        ItemAvailabilityDto availability = itemOccupancyIndex.getAvailability(itemId, from, to);
+
+        assertEquals(List.of(interval(from.plusHours(10), from.plusHours(20))), availability.getBusy());
+        verify(bookingRepository, never()).findOccupiedIntervals(eq(itemId), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getAvailability_shouldReturnFreeGapsBetweenBusyIntervals() {
+        OccupiedInterval occupied = occupied(1L, hours(10), hours(20));
+        when(bookingRepository.findOccupiedIntervals(eq(itemId), any(LocalDateTime.class))).thenReturn(List.of(occupied));
+
+        ItemAvailabilityDto availability = itemOccupancyIndex.getAvailability(itemId, hours(0), hours(48));
+
+        assertEquals(List.of(interval(hours(10), hours(20))), availability.getBusy());
+        assertEquals(List.of(interval(hours(0), hours(10)), interval(hours(20), hours(48))),
+                availability.getFree());
+    }
+
+    @Test
+    void getAvailability_shouldLoadOnceAndFollowBookingChanges() {
+        when(bookingRepository.findOccupiedIntervals(eq(itemId), any(LocalDateTime.class))).thenReturn(List.of());
+        Booking booking = Booking.builder().id(7L).item(Item.builder().id(itemId).build())
+                .start(hours(1)).end(hours(3)).build();
+
+        itemOccupancyIndex.getAvailability(itemId, hours(0), hours(24));
+        itemOccupancyIndex.occupyAfterCommit(booking);
+        assertEquals(List.of(interval(hours(1), hours(3))),
+                itemOccupancyIndex.getAvailability(itemId, hours(0), hours(24)).getBusy());
+        itemOccupancyIndex.releaseAfterCommit(booking);
+        assertEquals(List.of(interval(hours(0), hours(24))),
+                itemOccupancyIndex.getAvailability(itemId, hours(0), hours(24)).getFree());
+
+        verify(bookingRepository, times(1)).findOccupiedIntervals(eq(itemId), any(LocalDateTime.class));
+    }
+
+    private LocalDateTime hours(long hours) {
+        return base.plusHours(hours);
+    }
+
+    private static AvailabilityIntervalDto interval(LocalDateTime start, LocalDateTime end) {
+        return new AvailabilityIntervalDto(start, end);
+    }
+
+    private static OccupiedInterval occupied(Long id, LocalDateTime start, LocalDateTime end) {
+        OccupiedInterval occupied = mock(OccupiedInterval.class);
+        when(occupied.getId()).thenReturn(id);
+        when(occupied.getStart()).thenReturn(start);
+        when(occupied.getEnd()).thenReturn(end);
+        return occupied;
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.cache;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({EntityCacheConfig.class, EntityCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityCacheTest {
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    EntityCache entityCache;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findById_shouldBeServedFromSecondLevelCache() {
+        User user = userRepository.save(User.builder().name("user").email("user@mail.com").build());
+        entityManagerFactory.getCache().evict(User.class, user.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        userRepository.findById(user.getId());
+        userRepository.findById(user.getId());
+        userRepository.findById(user.getId());
+
+        assertTrue(entityManagerFactory.getCache().contains(User.class, user.getId()));
+        assertEquals(1, statistics.getSecondLevelCacheMissCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void itemFindById_shouldBeServedFromSecondLevelCacheWithoutLoadingOwner() {
+        User user = userRepository.save(User.builder().name("user").email("user@mail.com").build());
+        Item item = itemRepository.save(Item.builder().name("item").description("item Description")
+                .available(true).owner(user).build());
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        itemRepository.findById(item.getId());
+        Item cachedItem = itemRepository.findById(item.getId()).orElseThrow();
+
+        assertEquals(user.getId(), cachedItem.getOwner().getId());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(EntityCacheConfig.ITEMS_REGION).getMissCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(EntityCacheConfig.ITEMS_REGION).getHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updatedUser_shouldBeReadFromCacheWithNewValues() {
+        User user = userRepository.save(User.builder().name("user").email("user@mail.com").build());
+        userRepository.findById(user.getId());
+        user.setName("updated");
+        userRepository.save(user);
+
+        assertEquals("updated", userRepository.findById(user.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void evictAllItems_shouldDropCachedItems() {
+        User user = userRepository.save(User.builder().name("user").email("user@mail.com").build());
+        Item item = itemRepository.save(Item.builder().name("item").description("item Description")
+                .available(true).owner(user).build());
+        itemRepository.findById(item.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+
+        entityCache.evictAllItems();
+
+        assertFalse(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+    }
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+        jdbcTemplate.execute("ALTER SEQUENCE users_seq RESTART WITH 1;");
+        jdbcTemplate.execute("ALTER SEQUENCE items_seq RESTART WITH 1;");
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.etag;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityTagTest {
+    @Test
+    void value_shouldBeStableForSameVersions() {
+        assertEquals(EntityTag.of("item").with(1).with(3).value(), EntityTag.of("item").with(1).with(3).value());
+    }
+
+    @Test
+    void value_shouldChangeWithVersion() {
+        assertNotEquals(EntityTag.of("item").with(1).with(3).value(), EntityTag.of("item").with(1).with(4).value());
+        assertNotEquals(EntityTag.of("item").with(1).with(3).value(), EntityTag.of("item").with(3).with(1).value());
+        assertNotEquals(EntityTag.of("item").with(1).value(), EntityTag.of("user").with(1).value());
+    }
+
+    @Test
+    void value_shouldBeQuotedStrongTag() {
+        String value = EntityTag.of("user").with(7).with(0).value();
+
+        assertTrue(value.startsWith("\"user-"));
+        assertTrue(value.endsWith("\""));
+    }
+}
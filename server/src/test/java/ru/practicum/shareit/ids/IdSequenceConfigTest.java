@@ -0,0 +1,58 @@
+package ru.practicum.shareit.ids;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "shareit.ids.users.allocation-size=20")
+@Import(IdSequenceConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdSequenceConfigTest {
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migration_shouldAlignSequenceIncrementWithAllocationSize() {
+        assertEquals(20, increment("users_seq"));
+        assertEquals(IdSequenceConfig.DEFAULT_ALLOCATION_SIZE, increment("items_seq"));
+    }
+
+    @Test
+    void save_shouldAllocateUniqueIdsAcrossPools() {
+        List<User> users = userRepository.saveAll(IntStream.range(0, 45)
+                .mapToObj(i -> User.builder().name("user" + i).email("user" + i + "@mail.com").build())
+                .collect(Collectors.toList()));
+
+        Set<Long> ids = users.stream()
+                .map(User::getId)
+                .collect(Collectors.toSet());
+        assertEquals(45, ids.size());
+        assertEquals(45, userRepository.count());
+    }
+
+    @AfterEach
+    void afterEach() {
+        userRepository.deleteAll();
+    }
+
+    private long increment(String sequenceName) {
+        return jdbcTemplate.queryForObject("SELECT increment FROM information_schema.sequences " +
+                "WHERE LOWER(sequence_name) = ?", Long.class, sequenceName);
+    }
+}
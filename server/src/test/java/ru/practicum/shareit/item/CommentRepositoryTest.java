@@ -31,7 +31,6 @@ class CommentRepositoryTest {
     User user2;
     Comment comment;
     Comment comment2;
-    long itemId = 1;
 
     @BeforeAll
     void beforeAll() {
@@ -59,7 +58,7 @@ class CommentRepositoryTest {
 
     @Test
     void findAllByItemsIds() {
-        List<Comment> result = commentRepository.findAllByItemsIds(List.of(itemId));
+        List<Comment> result = commentRepository.findAllByItemsIds(List.of(item.getId()));
 
         assertEquals(1, result.size());
         assertEquals(comment.getId(), result.get(0).getId());
@@ -72,8 +71,8 @@ class CommentRepositoryTest {
         commentRepository.deleteAll();
         itemRepository.deleteAll();
         userRepository.deleteAll();
-        jdbcTemplate.execute("ALTER TABLE comments ALTER COLUMN ID RESTART WITH 1;");
-        jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN ID RESTART WITH 1;");
-        jdbcTemplate.execute("ALTER TABLE items ALTER COLUMN ID RESTART WITH 1;");
+        jdbcTemplate.execute("ALTER SEQUENCE comments_seq RESTART WITH 1;");
+        jdbcTemplate.execute("ALTER SEQUENCE users_seq RESTART WITH 1;");
+        jdbcTemplate.execute("ALTER SEQUENCE items_seq RESTART WITH 1;");
     }
 }
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.booking.ItemOccupancyIndex;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Import({ItemServiceImpl.class, ItemSearchIndex.class, ItemBookingSummaryService.class, ItemOccupancyIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ItemConcurrentUpdateTest {
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemBookingSummaryRepository itemBookingSummaryRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        itemBookingSummaryRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void updateItem_whenItemChangedByConcurrentUpdate_shouldFailOptimisticLock() {
+        User owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        long itemId = itemRepository.save(Item.builder().name("Дрель").description("Простая дрель")
+                .available(true).owner(owner).build()).getId();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            assertThrows(ObjectOptimisticLockingFailureException.class,
+                    () -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                        Item stale = itemRepository.findByIdAndOwnerId(itemId, owner.getId()).orElseThrow();
+                        try {
+                            executor.submit(() -> itemService.updateItem(ItemDto.builder().name("Перфоратор")
+                                    .build(), itemId, owner.getId())).get();
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                        stale.setDescription("Устаревшее описание");
+                        itemRepository.saveAndFlush(stale);
+                    }));
+        } finally {
+            executor.shutdown();
+        }
+
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        assertEquals("Перфоратор", item.getName());
+        assertEquals("Простая дрель", item.getDescription());
+    }
+}
@@ -7,17 +7,28 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -33,6 +44,9 @@ public class ItemControllerItTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemImportService itemImportService;
+
     ItemDto itemDtoIn;
     ItemDto itemDtoOut;
     long userId;
@@ -57,7 +71,7 @@ public class ItemControllerItTest {
     @SneakyThrows
     @Test
     void getItemById() {
-        when(itemService.getItemById(itemDtoOut.getId(), userId)).thenReturn(itemDtoOut);
+        when(itemService.getItemById(itemDtoOut.getId(), userId)).thenReturn(new Tagged<>(itemDtoOut, "\"item-1\""));
 
         mvc.perform(get(URL + "/" + itemDtoOut.getId())
                         .header("X-Sharer-User-Id", userId))
@@ -68,18 +82,47 @@ public class ItemControllerItTest {
         verify(itemService).getItemById(itemDtoOut.getId(), userId);
     }
 
+    @SneakyThrows
+    @Test
+    void getItemById_whenETagMatches_notModified() {
+        when(itemService.getItemById(itemDtoOut.getId(), userId)).thenReturn(new Tagged<>(itemDtoOut, "\"item-1\""));
+
+        mvc.perform(get(URL + "/" + itemDtoOut.getId())
+                        .header("X-Sharer-User-Id", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"item-1\""))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"item-1\""))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
     @SneakyThrows
     @Test
     void getAllItemsOfUser() {
-        when(itemService.getAllItemsOfUser(0, 20, userId)).thenReturn(List.of(itemDtoOut));
+        when(itemService.getAllItemsOfUser(0, 20, userId, "")).thenReturn(CursorPage.of(List.of(itemDtoOut)));
+
+        mvc.perform(get(URL)
+                        .header("X-Sharer-User-Id", userId))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(List.of(itemDtoOut))));
+
+        verify(itemService).getAllItemsOfUser(0, 20, userId, "");
+    }
+
+    @SneakyThrows
+    @Test
+    void getItemsByIds() {
+        when(itemService.getItemsByIds(List.of(1L, 2L), userId)).thenReturn(List.of(itemDtoOut));
 
         mvc.perform(get(URL)
+                        .param("ids", "1,2")
                         .header("X-Sharer-User-Id", userId))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(content().json(mapper.writeValueAsString(List.of(itemDtoOut))));
 
-        verify(itemService).getAllItemsOfUser(0, 20, userId);
+        verify(itemService).getItemsByIds(List.of(1L, 2L), userId);
     }
 
     @SneakyThrows
@@ -99,6 +142,28 @@ public class ItemControllerItTest {
         verify(itemService).saveNewItem(itemDtoIn, userId);
     }
 
+    @SneakyThrows
+    @Test
+    void importItems_shouldReadNdjsonRows() {
+        List<ItemDto> importedItems = new ArrayList<>();
+        when(itemImportService.importItems(any(), eq(userId))).thenAnswer(invocation -> {
+            Iterator<ItemDto> items = invocation.getArgument(0);
+            items.forEachRemaining(importedItems::add);
+            return new ItemImportResult(importedItems.size(), new ArrayList<>());
+        });
+
+        mvc.perform(post(URL + "/import")
+                        .content(mapper.writeValueAsString(itemDtoIn) + "\n" + mapper.writeValueAsString(itemDtoIn))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .header("X-Sharer-User-Id", userId))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"imported\": 2, \"errors\": []}"));
+
+        assertEquals(List.of(itemDtoIn, itemDtoIn), importedItems);
+    }
+
     @SneakyThrows
     @Test
     void updateItem() {
@@ -116,10 +181,33 @@ public class ItemControllerItTest {
         verify(itemService).updateItem(itemDtoIn, itemDtoOut.getId(), userId);
     }
 
+    @SneakyThrows
+    @Test
+    void updateItem_concurrentlyModified_conflict() {
+        when(itemService.updateItem(itemDtoIn, itemDtoOut.getId(), userId))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, itemDtoOut.getId()));
+
+        mvc.perform(patch((URL + "/" + itemDtoOut.getId()))
+                        .content(mapper.writeValueAsString(itemDtoIn))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isConflict());
+
+        mvc.perform(patch((URL + "/" + itemDtoOut.getId()))
+                        .content(mapper.writeValueAsString(itemDtoIn))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .header(HttpHeaders.IF_MATCH, "\"item-1-0\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @SneakyThrows
     @Test
     void searchItems() {
-        when(itemService.searchItems(0, 20, "description")).thenReturn(List.of(itemDtoOut));
+        when(itemService.searchItems(0, 20, "description", ItemSearchMode.TOKEN, ""))
+                .thenReturn(CursorPage.of(List.of(itemDtoOut)));
 
         mvc.perform(get(URL + "/search")
                         .param("text", "description")
@@ -129,6 +217,45 @@ public class ItemControllerItTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(mapper.writeValueAsString(List.of(itemDtoOut))));
 
-        verify(itemService).searchItems(0, 20, "description");
+        verify(itemService).searchItems(0, 20, "description", ItemSearchMode.TOKEN, "");
+    }
+
+    @SneakyThrows
+    @Test
+    void searchItems_substringMode() {
+        when(itemService.searchItems(0, 20, "scri", ItemSearchMode.SUBSTRING, ""))
+                .thenReturn(CursorPage.of(List.of(itemDtoOut)));
+
+        mvc.perform(get(URL + "/search")
+                        .param("text", "scri")
+                        .param("mode", "SUBSTRING"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(List.of(itemDtoOut))));
+
+        verify(itemService).searchItems(0, 20, "scri", ItemSearchMode.SUBSTRING, "");
+    }
+
+    @SneakyThrows
+    @Test
+    void getItemAvailability() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(2);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder().itemId(itemDtoOut.getId()).from(from).to(to)
+                .busy(List.of(new AvailabilityIntervalDto(from.plusHours(10), from.plusHours(20))))
+                .free(List.of(new AvailabilityIntervalDto(from, from.plusHours(10)),
+                        new AvailabilityIntervalDto(from.plusHours(20), to)))
+                .build();
+        when(itemService.getItemAvailability(itemDtoOut.getId(), from, to)).thenReturn(availability);
+
+        mvc.perform(get(URL + "/" + itemDtoOut.getId() + "/availability")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-03T00:00:00"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(availability)));
+
+        verify(itemService).getItemAvailability(itemDtoOut.getId(), from, to);
     }
 }
@@ -6,6 +6,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
@@ -26,11 +29,12 @@ class ItemControllerTest {
         long itemId = 1;
         long userId = 1;
         ItemDto expectedItemDto = new ItemDto();
-        Mockito.when(itemService.getItemById(itemId, userId)).thenReturn(expectedItemDto);
+        Mockito.when(itemService.getItemById(itemId, userId)).thenReturn(new Tagged<>(expectedItemDto, "\"item-1\""));
 
-        ItemDto itemDto = itemController.getItemById(itemId, userId);
+        ResponseEntity<ItemDto> response = itemController.getItemById(itemId, userId);
 
-        assertEquals(expectedItemDto, itemDto);
+        assertEquals(expectedItemDto, response.getBody());
+        assertEquals("\"item-1\"", response.getHeaders().getETag());
         verify(itemService, times(1)).getItemById(itemId, userId);
     }
 
@@ -40,12 +44,13 @@ class ItemControllerTest {
         long from = 0;
         long size = 20;
         List<ItemDto> expectedItemDtoList = List.of(new ItemDto());
-        Mockito.when(itemService.getAllItemsOfUser(from, size, userId)).thenReturn(expectedItemDtoList);
+        Mockito.when(itemService.getAllItemsOfUser(from, size, userId, ""))
+                .thenReturn(CursorPage.of(expectedItemDtoList));
 
-        List<ItemDto> itemDtoList = itemController.getAllItemsOfUser(userId, from, size);
+        List<ItemDto> itemDtoList = itemController.getAllItemsOfUser(userId, from, size, "").getBody();
 
         assertEquals(expectedItemDtoList, itemDtoList);
-        verify(itemService, times(1)).getAllItemsOfUser(from, size, userId);
+        verify(itemService, times(1)).getAllItemsOfUser(from, size, userId, "");
     }
 
     @Test
@@ -81,12 +86,14 @@ class ItemControllerTest {
         long from = 0;
         long size = 20;
         List<ItemDto> expectedItemDtoList = List.of(new ItemDto());
-        Mockito.when(itemService.searchItems(from, size, text)).thenReturn(expectedItemDtoList);
+        Mockito.when(itemService.searchItems(from, size, text, ItemSearchMode.TOKEN, ""))
+                .thenReturn(CursorPage.of(expectedItemDtoList));
 
-        List<ItemDto> itemDtoList = itemController.searchItems(text, from, size);
+        List<ItemDto> itemDtoList = itemController.searchItems(text, from, size, ItemSearchMode.TOKEN, "")
+                .getBody();
 
         assertEquals(expectedItemDtoList, itemDtoList);
-        verify(itemService, times(1)).searchItems(from, size, text);
+        verify(itemService, times(1)).searchItems(from, size, text, ItemSearchMode.TOKEN, "");
     }
 
     @Test
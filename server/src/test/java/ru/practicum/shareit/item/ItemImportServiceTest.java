@@ -0,0 +1,124 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemImportService.class, ItemSearchIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ItemImportServiceTest {
+    @Autowired
+    ItemImportService itemImportService;
+    @Autowired
+    ItemSearchIndex itemSearchIndex;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    ObjectMapper mapper = new ObjectMapper();
+    User owner;
+    ItemRequest itemRequest;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        itemRequest = itemRequestRepository.save(ItemRequest.builder().description("Нужна дрель")
+                .created(LocalDateTime.now()).requestor(owner).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @SneakyThrows
+    @Test
+    void importItems_shouldInsertItemsInBatches() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 120; i++) {
+            body.append(mapper.writeValueAsString(ItemDto.builder().name("Перфоратор " + i).description("Описание " + i)
+                    .available(true).requestId(i % 10 == 0 ? itemRequest.getId() : null).build())).append('\n');
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ItemImportResult result = importItems(body.toString());
+
+        assertEquals(120, result.getImported());
+        assertTrue(result.getErrors().isEmpty());
+        assertTrue(statistics.getPrepareStatementCount() < 20);
+        assertEquals(120, itemRepository.count());
+        assertEquals(12, itemRepository.findAllByRequestId(itemRequest.getId()).size());
+        assertEquals(120, itemSearchIndex.search("перфоратор", 0, 200, null).getContent().size());
+    }
+
+    @SneakyThrows
+    @Test
+    void importItems_shouldReportRowErrorsWithoutAbortingImport() {
+        String body = "[" + String.join(",",
+                mapper.writeValueAsString(ItemDto.builder().name("Дрель").description("Простая дрель")
+                        .available(true).build()),
+                "{\"name\": \"Отвертка\", \"description\": \"Крестовая\", \"available\": \"maybe\"}",
+                mapper.writeValueAsString(ItemDto.builder().name("Пила").description("Ручная пила")
+                        .available(true).requestId(999L).build()),
+                mapper.writeValueAsString(ItemDto.builder().description("Без названия").available(true).build()),
+                mapper.writeValueAsString(ItemDto.builder().name("Молоток").description("Слесарный молоток")
+                        .available(false).requestId(itemRequest.getId()).build())) + "]";
+
+        ItemImportResult result = importItems(body);
+
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(1L, 2L, 3L), result.getErrors().stream()
+                .map(ItemImportError::getIndex)
+                .sorted()
+                .collect(Collectors.toList()));
+        assertEquals(List.of("Дрель", "Молоток"), itemRepository.findAll().stream()
+                .map(Item::getName)
+                .sorted()
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void importItems_whenUserNotFound_thenThrowUserNotFoundException() {
+        assertThrows(UserNotFoundException.class, () -> itemImportService.importItems(List.<ItemDto>of().iterator(),
+                owner.getId() + 100));
+    }
+
+    @SneakyThrows
+    private ItemImportResult importItems(String body) {
+        try (MappingIterator<ItemDto> items = mapper.readerFor(ItemDto.class).readValues(body)) {
+            return itemImportService.importItems(items, owner.getId());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.item;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.cache.EntityCacheConfig;
+import ru.practicum.shareit.metrics.QueryBudget;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.metrics.QueryBudgetMatchers.queryCounts;
+import static ru.practicum.shareit.metrics.QueryBudgetMatchers.withinBudget;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:query-budget", "shareit.query-budget.mode=FAIL"})
+@AutoConfigureMockMvc
+class ItemQueryBudgetItTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    QueryBudget queryBudget;
+
+    User owner;
+    List<User> authors = new ArrayList<>();
+    List<Item> items = new ArrayList<>();
+    List<ItemRequest> requests = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@budget.ru").build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 4; i++) {
+            User author = userRepository.save(User.builder().name("author" + i).email("author" + i + "@budget.ru")
+                    .build());
+            authors.add(author);
+            requests.add(itemRequestRepository.save(ItemRequest.builder().description("request " + i)
+                    .created(now.minusDays(i)).requestor(author).build()));
+        }
+        for (int i = 0; i < 4; i++) {
+            Item item = itemRepository.save(Item.builder().name("item" + i).description("description " + i)
+                    .available(true).owner(owner).request(requests.get(i)).build());
+            items.add(item);
+            for (User author : authors) {
+                bookingRepository.save(Booking.builder().item(item).booker(author).status(BookingStatus.APPROVED)
+                        .start(now.minusDays(3)).end(now.minusDays(2)).build());
+                commentRepository.save(Comment.builder().item(item).author(author).text("comment")
+                        .created(now.minusDays(1)).build());
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getItemById_shouldStayWithinBudget() throws Exception {
+        perform(get("/items/" + items.get(0).getId()).header(USER_HEADER, owner.getId()));
+        perform(get("/items/" + items.get(0).getId()).header(USER_HEADER, authors.get(0).getId()));
+    }
+
+    @Test
+    void getItemById_shouldReadItemFromSecondLevelCacheWhenWarm() throws Exception {
+        String uri = "/items/" + items.get(0).getId();
+        entityManagerFactory.getCache().evictAll();
+        long coldStatements = queryCounts(mvc.perform(get(uri).header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andReturn()).getStatements();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MvcResult warm = mvc.perform(get(uri).header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(withinBudget(queryBudget))
+                .andReturn();
+
+        assertEquals(1, statistics.getDomainDataRegionStatistics(EntityCacheConfig.ITEMS_REGION).getHitCount());
+        assertEquals(coldStatements - 1, queryCounts(warm).getStatements());
+    }
+
+    @Test
+    void getItemsOfOwner_shouldStayWithinBudget() throws Exception {
+        perform(get("/items").header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void getItemRequests_shouldStayWithinBudget() throws Exception {
+        perform(get("/requests").header(USER_HEADER, authors.get(0).getId()));
+        perform(get("/requests/all").header(USER_HEADER, owner.getId()));
+        perform(get("/requests/" + requests.get(0).getId()).header(USER_HEADER, owner.getId()));
+    }
+
+    private void perform(MockHttpServletRequestBuilder request) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        mvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(withinBudget(queryBudget));
+    }
+}
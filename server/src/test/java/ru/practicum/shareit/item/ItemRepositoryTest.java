@@ -72,7 +72,7 @@ class ItemRepositoryTest {
 
     @Test
     void findAllByOwnerId() {
-        List<Item> result = itemRepository.findAllByOwnerId(Pageable.unpaged(), user.getId());
+        List<Item> result = itemRepository.findAllByOwnerId(Pageable.unpaged(), user.getId(), 0);
 
         assertItemDetails_findAllByRequestId_findAllByRequestsIds_findAllByOwnerId(result);
     }
@@ -91,7 +91,7 @@ class ItemRepositoryTest {
 
     @Test
     void searchItems() {
-        List<Item> result = itemRepository.searchItems(Pageable.unpaged(), "item2").toList();
+        List<Item> result = itemRepository.searchItems(Pageable.unpaged(), "item2", 0);
 
         assertEquals(1, result.size());
         assertEquals(item2.getId(), result.get(0).getId());
@@ -120,9 +120,9 @@ class ItemRepositoryTest {
         itemRepository.deleteAll();
         itemRequestRepository.deleteAll();
         userRepository.deleteAll();
-        jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN ID RESTART WITH 1;");
-        jdbcTemplate.execute("ALTER TABLE requests ALTER COLUMN ID RESTART WITH 1;");
-        jdbcTemplate.execute("ALTER TABLE items ALTER COLUMN ID RESTART WITH 1;");
+        jdbcTemplate.execute("ALTER SEQUENCE users_seq RESTART WITH 1;");
+        jdbcTemplate.execute("ALTER SEQUENCE requests_seq RESTART WITH 1;");
+        jdbcTemplate.execute("ALTER SEQUENCE items_seq RESTART WITH 1;");
     }
 
     private void assertItemDetails_findAllByRequestId_findAllByRequestsIds_findAllByOwnerId(List<Item> result) {
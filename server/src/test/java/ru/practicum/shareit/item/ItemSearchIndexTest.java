@@ -0,0 +1,141 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private ItemSearchIndex itemSearchIndex;
+
+    Item drill;
+    Item screwdriver;
+    Item batteryDrill;
+    Item hiddenDrill;
+
+    @BeforeEach
+    void setUp() {
+        drill = Item.builder().id(1).name("Дрель").description("Простая дрель").available(true).build();
+        screwdriver = Item.builder().id(2).name("Отвертка").description("Аккумуляторная отвертка")
+                .available(true).build();
+        batteryDrill = Item.builder().id(3).name("Шуруповерт").description("Аккумуляторная дрель-шуруповерт")
+                .available(true).build();
+        hiddenDrill = Item.builder().id(4).name("Дрель ударная").description("Недоступна").available(false).build();
+        when(itemRepository.findAll()).thenReturn(List.of(drill, screwdriver, batteryDrill, hiddenDrill));
+        itemSearchIndex.rebuild();
+    }
+
+    @Test
+    void search_shouldIgnoreCaseAndRankNameMatchesFirst() {
+        List<Long> result = itemSearchIndex.search("дРелЬ", 0, 20, null).getContent();
+
+        assertEquals(List.of(drill.getId(), batteryDrill.getId()), result);
+        verify(itemRepository).findAll();
+    }
+
+    @Test
+    void search_shouldMatchTokenPrefixes() {
+        List<Long> result = itemSearchIndex.search("оТверТ", 0, 20, null).getContent();
+
+        assertEquals(List.of(screwdriver.getId()), result);
+    }
+
+    @Test
+    void search_shouldRequireAllQueryTokens() {
+        List<Long> result = itemSearchIndex.search("аккумуляторная дрель", 0, 20, null).getContent();
+
+        assertEquals(List.of(batteryDrill.getId()), result);
+    }
+
+    @Test
+    void search_shouldPaginateRankedResults() {
+        List<Long> result = itemSearchIndex.search("аккУМУляторная", 1, 1, null).getContent();
+
+        assertEquals(List.of(batteryDrill.getId()), result);
+    }
+
+    @Test
+    void search_shouldContinueAfterCursor() {
+        CursorPage<Long> firstPage = itemSearchIndex.search("аккУМУляторная", 0, 1, null);
+        CursorPage<Long> secondPage = itemSearchIndex.search("аккУМУляторная", 0, 1,
+                PageCursor.decode(firstPage.getNextCursor(), null));
+
+        assertEquals(List.of(screwdriver.getId()), firstPage.getContent());
+        assertEquals(List.of(batteryDrill.getId()), secondPage.getContent());
+    }
+
+    @Test
+    void index_shouldReplacePreviousVersionOfItem() {
+        drill.setName("Перфоратор");
+        drill.setDescription("Мощный перфоратор");
+        itemSearchIndex.index(drill);
+
+        assertEquals(List.of(batteryDrill.getId()), itemSearchIndex.search("дрель", 0, 20, null).getContent());
+        assertEquals(List.of(drill.getId()), itemSearchIndex.search("перфоратор", 0, 20, null).getContent());
+    }
+
+    @Test
+    void removeByOwner_shouldDropOnlyOwnerItems() {
+        User owner = User.builder().id(7).build();
+        User otherOwner = User.builder().id(8).build();
+        drill.setOwner(owner);
+        batteryDrill.setOwner(otherOwner);
+        itemSearchIndex.index(drill);
+        itemSearchIndex.index(batteryDrill);
+
+        itemSearchIndex.removeByOwner(owner.getId());
+
+        assertEquals(List.of(batteryDrill.getId()), itemSearchIndex.search("дрель", 0, 20, null).getContent());
+    }
+
+    @Test
+    void index_shouldExcludeItemWhenItBecomesUnavailable() {
+        screwdriver.setAvailable(false);
+        itemSearchIndex.index(screwdriver);
+
+        assertTrue(itemSearchIndex.search("отвертка", 0, 20, null).getContent().isEmpty());
+    }
+
+    @Test
+    void searchSubstring_shouldFindInfixWithTrigrams() {
+        List<Long> result = itemSearchIndex.searchSubstring("РУПОВ", 0, 20, null).getContent();
+
+        assertEquals(List.of(batteryDrill.getId()), result);
+    }
+
+    @Test
+    void searchSubstring_shouldRankNameMatchesFirst() {
+        List<Long> result = itemSearchIndex.searchSubstring("рель", 0, 20, null).getContent();
+
+        assertEquals(List.of(drill.getId(), batteryDrill.getId()), result);
+    }
+
+    @Test
+    void searchSubstring_shouldScanForShortQueries() {
+        List<Long> result = itemSearchIndex.searchSubstring("тв", 0, 20, null).getContent();
+
+        assertEquals(List.of(screwdriver.getId()), result);
+    }
+
+    @Test
+    void searchSubstring_shouldNotMatchWhenTrigramsAreNotAdjacent() {
+        assertTrue(itemSearchIndex.searchSubstring("дрельотвертка", 0, 20, null).getContent().isEmpty());
+    }
+}
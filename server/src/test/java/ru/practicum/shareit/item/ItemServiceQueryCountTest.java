@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.booking.ItemOccupancyIndex;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemServiceImpl.class, ItemSearchIndex.class, ItemBookingSummaryService.class, ItemOccupancyIndex.class})
+class ItemServiceQueryCountTest {
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    TestEntityManager entityManager;
+    User owner;
+    User booker;
+    List<Long> itemsIds;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(User.builder().name("owner").email("owner@mail.com").build());
+        booker = entityManager.persist(User.builder().name("booker").email("booker@mail.com").build());
+        itemsIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Item item = entityManager.persist(Item.builder().name("item" + i).description("description " + i)
+                    .available(true).owner(i % 2 == 0 ? owner : booker).build());
+            entityManager.persist(Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED)
+                    .start(LocalDateTime.now().minusDays(2)).end(LocalDateTime.now().minusDays(1)).build());
+            entityManager.persist(Comment.builder().item(item).author(booker).text("comment " + i)
+                    .created(LocalDateTime.now()).build());
+            itemsIds.add(item.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getItemsByIds_shouldUseSameNumberOfQueriesForAnyBatchSize() {
+        long smallBatchQueries = countQueries(itemsIds.subList(0, 2));
+        long fullBatchQueries = countQueries(itemsIds);
+
+        assertTrue(fullBatchQueries > 0);
+        assertEquals(smallBatchQueries, fullBatchQueries);
+    }
+
+    @Test
+    void getItemsByIds_shouldAttachBookingsOnlyForOwner() {
+        List<ItemDto> items = itemService.getItemsByIds(itemsIds, owner.getId());
+
+        assertEquals(itemsIds, items.stream().map(ItemDto::getId).collect(Collectors.toList()));
+        assertNotNull(items.get(0).getLastBooking());
+        assertNull(items.get(1).getLastBooking());
+        items.forEach(item -> assertEquals(1, item.getComments().size()));
+    }
+
+    private long countQueries(List<Long> ids) {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+
+        List<ItemDto> items = itemService.getItemsByIds(ids, owner.getId());
+
+        assertEquals(ids.size(), items.size());
+        return statistics.getPrepareStatementCount();
+    }
+}
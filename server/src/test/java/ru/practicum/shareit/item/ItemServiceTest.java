@@ -8,10 +8,11 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.*;
 import ru.practicum.shareit.exception.*;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.*;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
@@ -22,7 +23,9 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +45,15 @@ public class ItemServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    @Mock
+    private ItemBookingSummaryService itemBookingSummaryService;
+
+    @Mock
+    private ItemOccupancyIndex itemOccupancyIndex;
+
     @Spy
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -55,7 +67,7 @@ public class ItemServiceTest {
     User user;
     BookingItemDto bookingItemDto;
     ItemRequest itemRequest;
-    PageRequest pageRequest = PageRequest.of(2, 5);
+    OffsetPageRequest pageRequest = OffsetPageRequest.of(10, 5);
     Booking booking;
     long userId = 1;
     long itemId = 1;
@@ -93,7 +105,7 @@ public class ItemServiceTest {
             doReturn(List.of(itemDtoWithBookingsAndComments)).when(itemService)
                     .findAndAttachCommentsToItemsDto(List.of(itemDtoWithBookings), List.of(item.getId()));
 
-            ItemDto itemDtoActual = itemService.getItemById(itemId, userId);
+            ItemDto itemDtoActual = itemService.getItemById(itemId, userId).getContent();
 
             assertEquals(itemDtoWithBookings, itemDtoActual);
             verify(itemRepository).findById(itemId);
@@ -114,7 +126,7 @@ public class ItemServiceTest {
     @Test
     void getAllItemsOfUser_shouldBeFound() {
         try (MockedStatic<ItemMapper> mockStaticItem = mockStatic(ItemMapper.class)) {
-            when(itemRepository.findAllByOwnerId(pageRequest, userId)).thenReturn(List.of(item));
+            when(itemRepository.findAllByOwnerId(pageRequest, userId, 0)).thenReturn(List.of(item));
             mockStaticItem.when(() -> ItemMapper.toItemDtoList(List.of(item)))
                     .thenReturn(List.of(itemDto));
             doReturn(List.of(itemDtoWithBookings)).when(itemService)
@@ -122,7 +134,7 @@ public class ItemServiceTest {
             doReturn(List.of(itemDtoWithBookingsAndComments)).when(itemService)
                     .findAndAttachCommentsToItemsDto(List.of(itemDtoWithBookings), List.of(item.getId()));
 
-            List<ItemDto> itemDtoListActual = itemService.getAllItemsOfUser(10, 5, userId);
+            List<ItemDto> itemDtoListActual = itemService.getAllItemsOfUser(10, 5, userId, "").getContent();
 
             assertEquals(List.of(itemDtoWithBookings), itemDtoListActual);
             verify(itemService).finaAndAttachNearestBookingsToItemsDto(List.of(itemDto), List.of(item.getId()));
@@ -130,6 +142,38 @@ public class ItemServiceTest {
         }
     }
 
+    @Test
+    void getItemsByIds_shouldKeepRequestedOrderAndAttachBookingsOnlyToOwnItems() {
+        User otherUser = User.builder().id(2).name("other").email("other@mail.com").build();
+        Item otherItem = Item.builder().id(2).available(true).description("other item").owner(otherUser).build();
+        ItemDto otherItemDto = ItemDto.builder().id(otherItem.getId()).description(otherItem.getDescription())
+                .available(otherItem.getAvailable()).build();
+        try (MockedStatic<ItemMapper> mockStaticItem = mockStatic(ItemMapper.class)) {
+            when(itemRepository.findAllById(List.of(otherItem.getId(), item.getId(), 3L)))
+                    .thenReturn(List.of(item, otherItem));
+            mockStaticItem.when(() -> ItemMapper.toItemDtoList(List.of(otherItem, item)))
+                    .thenReturn(List.of(otherItemDto, itemDto));
+            doReturn(List.of(otherItemDto, itemDtoWithBookings)).when(itemService)
+                    .finaAndAttachNearestBookingsToItemsDto(List.of(otherItemDto, itemDto), List.of(item.getId()));
+            doReturn(List.of(otherItemDto, itemDtoWithBookingsAndComments)).when(itemService)
+                    .findAndAttachCommentsToItemsDto(List.of(otherItemDto, itemDtoWithBookings),
+                            List.of(otherItem.getId(), item.getId()));
+
+            List<ItemDto> itemDtoListActual = itemService.getItemsByIds(List.of(otherItem.getId(), item.getId(),
+                    otherItem.getId(), 3L), userId);
+
+            assertEquals(List.of(otherItemDto, itemDtoWithBookingsAndComments), itemDtoListActual);
+            verify(itemRepository).findAllById(List.of(otherItem.getId(), item.getId(), 3L));
+        }
+    }
+
+    @Test
+    void getItemsByIds_whenNoIds_shouldReturnEmptyList() {
+        assertTrue(itemService.getItemsByIds(List.of(), userId).isEmpty());
+
+        verifyNoInteractions(itemRepository);
+    }
+
     @Test
     void saveNewItem_shouldBeSaved() {
         try (MockedStatic<ItemMapper> mockStaticItem = mockStatic(ItemMapper.class)) {
@@ -147,6 +191,8 @@ public class ItemServiceTest {
             verify(userRepository).findById(userId);
             verify(itemRequestRepository).findById(itemDto.getRequestId());
             verify(itemRepository).save(item);
+            verify(itemSearchIndex).index(item);
+            verify(itemBookingSummaryService).initialize(item.getId());
         }
     }
 
@@ -163,6 +209,7 @@ public class ItemServiceTest {
             assertEquals(itemDto, itemDtoActual);
             verify(itemRepository).findByIdAndOwnerId(itemId, userId);
             verify(itemRepository).save(item);
+            verify(itemSearchIndex).index(item);
         }
     }
 
@@ -180,12 +227,51 @@ public class ItemServiceTest {
         try (MockedStatic<ItemMapper> mockStaticItem = mockStatic(ItemMapper.class)) {
             mockStaticItem.when(() -> ItemMapper.toItemDtoList(List.of(item)))
                     .thenReturn(List.of(itemDto));
-            when(itemRepository.searchItems(pageRequest, "text")).thenReturn(new PageImpl<>(List.of(item)));
+            when(itemSearchIndex.search("text", 10, 5, null)).thenReturn(CursorPage.of(List.of(itemId)));
+            when(itemRepository.findAllById(List.of(itemId))).thenReturn(List.of(item));
 
-            List<ItemDto> itemDtoActual = itemService.searchItems(10, 5, "text");
+            List<ItemDto> itemDtoActual = itemService.searchItems(10, 5, "text", ItemSearchMode.TOKEN, "").getContent();
 
             assertEquals(List.of(itemDto), itemDtoActual);
-            verify(itemService).searchItems(10, 5, "text");
+            verify(itemSearchIndex).search("text", 10, 5, null);
+            verify(itemRepository).findAllById(List.of(itemId));
+        }
+    }
+
+    @Test
+    void searchItems_shouldRefillPageWhenIndexHasStaleIds() {
+        long staleItemId = 2;
+        try (MockedStatic<ItemMapper> mockStaticItem = mockStatic(ItemMapper.class)) {
+            mockStaticItem.when(() -> ItemMapper.toItemDtoList(List.of(item)))
+                    .thenReturn(List.of(itemDto));
+            when(itemSearchIndex.search("text", 0, 1, null))
+                    .thenReturn(CursorPage.of(List.of(staleItemId)))
+                    .thenReturn(CursorPage.of(List.of(itemId)));
+            when(itemRepository.findAllById(List.of(staleItemId))).thenReturn(List.of());
+            when(itemRepository.findAllById(List.of(itemId))).thenReturn(List.of(item));
+
+            List<ItemDto> itemDtoActual = itemService.searchItems(0, 1, "text", ItemSearchMode.TOKEN, "").getContent();
+
+            assertEquals(List.of(itemDto), itemDtoActual);
+            verify(itemSearchIndex).remove(staleItemId);
+            verify(itemSearchIndex, times(2)).search("text", 0, 1, null);
+        }
+    }
+
+    @Test
+    void searchItems_substringMode() {
+        try (MockedStatic<ItemMapper> mockStaticItem = mockStatic(ItemMapper.class)) {
+            mockStaticItem.when(() -> ItemMapper.toItemDtoList(List.of(item)))
+                    .thenReturn(List.of(itemDto));
+            when(itemSearchIndex.searchSubstring("ex", 10, 5, null)).thenReturn(CursorPage.of(List.of(itemId)));
+            when(itemRepository.findAllById(List.of(itemId))).thenReturn(List.of(item));
+
+            List<ItemDto> itemDtoActual = itemService.searchItems(10, 5, "ex", ItemSearchMode.SUBSTRING, "")
+                    .getContent();
+
+            assertEquals(List.of(itemDto), itemDtoActual);
+            verify(itemSearchIndex).searchSubstring("ex", 10, 5, null);
+            verify(itemRepository).findAllById(List.of(itemId));
         }
     }
 
@@ -255,15 +341,46 @@ public class ItemServiceTest {
 
     @Test
     void finaAndAttachNearestBookingsToItemsDto_shouldBeAttached() {
+        ItemNearestBooking lastBooking = mock(ItemNearestBooking.class);
+        when(lastBooking.getItemId()).thenReturn(itemId);
+        when(lastBooking.getKind()).thenReturn(ItemNearestBooking.LAST);
         try (MockedStatic<BookingMapper> mockStaticBooking = mockStatic(BookingMapper.class)) {
-            mockStaticBooking.when(() -> BookingMapper.toBookingItemDto(booking))
+            mockStaticBooking.when(() -> BookingMapper.toBookingItemDto(lastBooking))
                     .thenReturn(bookingItemDto);
-            when(bookingRepository.findApprovedItemsBookings(List.of(itemId))).thenReturn(List.of(booking));
+            when(itemBookingSummaryService.findNearestBookings(List.of(itemId)))
+                    .thenReturn(List.of(lastBooking));
 
             List<ItemDto> itemDtoListActual = itemService.finaAndAttachNearestBookingsToItemsDto(List.of(itemDto), List.of(itemId));
 
             assertEquals(List.of(itemDto), itemDtoListActual);
-            verify(bookingRepository).findApprovedItemsBookings(List.of(itemId));
+            assertEquals(bookingItemDto, itemDtoListActual.get(0).getLastBooking());
+            assertNull(itemDtoListActual.get(0).getNextBooking());
+            verify(itemBookingSummaryService).findNearestBookings(List.of(itemId));
         }
     }
+
+    @Test
+    void getItemAvailability_shouldBeReadFromOccupancyIndex() {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusDays(7);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder().itemId(itemId).from(from).to(to)
+                .busy(List.of()).free(List.of(new AvailabilityIntervalDto(from, to))).build();
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(itemOccupancyIndex.getAvailability(itemId, from, to)).thenReturn(availability);
+
+        assertEquals(availability, itemService.getItemAvailability(itemId, from, to));
+
+        verify(itemOccupancyIndex).getAvailability(itemId, from, to);
+    }
+
+    @Test
+    void getItemAvailability_itemNotFound_fail() {
+        LocalDateTime from = LocalDateTime.now();
+        when(itemRepository.existsById(itemId)).thenReturn(false);
+
+        assertThrows(ItemNotFoundException.class, () -> itemService.getItemAvailability(itemId, from,
+                from.plusDays(1)));
+
+        verify(itemOccupancyIndex, never()).getAvailability(anyLong(), any(), any());
+    }
 }
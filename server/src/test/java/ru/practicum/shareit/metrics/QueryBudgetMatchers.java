@@ -0,0 +1,34 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class QueryBudgetMatchers {
+    private QueryBudgetMatchers() {
+    }
+
+    public static QueryCounts queryCounts(MvcResult result) {
+        QueryCounts counts = (QueryCounts) result.getRequest().getAttribute(QueryMetricsFilter.QUERY_COUNTS_ATTRIBUTE);
+        assertNotNull(counts, "Запрос не прошел через QueryMetricsFilter");
+        return counts;
+    }
+
+    public static ResultMatcher statementsAtMost(long budget) {
+        return result -> {
+            long statements = queryCounts(result).getStatements();
+            assertTrue(statements <= budget, String.format("%s %s: SQL-запросов %d, бюджет %d",
+                    result.getRequest().getMethod(), result.getRequest().getRequestURI(), statements, budget));
+        };
+    }
+
+    public static ResultMatcher withinBudget(QueryBudget queryBudget) {
+        return result -> {
+            String pattern = (String) result.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            statementsAtMost(queryBudget.statementsFor(result.getRequest().getMethod(), pattern)).match(result);
+        };
+    }
+}
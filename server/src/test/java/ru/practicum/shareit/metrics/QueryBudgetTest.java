@@ -0,0 +1,61 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryBudgetTest {
+    private static final String ENDPOINTS = "GET /bookings/{bookingId}=2,  PATCH   /bookings/{bookingId} = 5";
+
+    SimpleMeterRegistry meterRegistry;
+    QueryCounts threeStatements;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        threeStatements = new QueryCounts();
+        for (int i = 0; i < 3; i++) {
+            threeStatements.statementPrepared("select 1");
+        }
+    }
+
+    @Test
+    void statementsFor_shouldUseEndpointBudgetOrDefault() {
+        QueryBudget budget = new QueryBudget(QueryBudgetMode.LOG, 20, ENDPOINTS, meterRegistry);
+
+        assertEquals(2, budget.statementsFor("GET", "/bookings/{bookingId}"));
+        assertEquals(5, budget.statementsFor("PATCH", "/bookings/{bookingId}"));
+        assertEquals(20, budget.statementsFor("GET", "/items"));
+    }
+
+    @Test
+    void check_shouldCountExceededBudgetInLogMode() {
+        QueryBudget budget = new QueryBudget(QueryBudgetMode.LOG, 20, ENDPOINTS, meterRegistry);
+
+        assertFalse(budget.check("GET", "/bookings/{bookingId}", threeStatements));
+        assertTrue(budget.check("PATCH", "/bookings/{bookingId}", threeStatements));
+        assertEquals(1, meterRegistry.get(QueryBudget.EXCEEDED_METRIC)
+                .tags("method", "GET", "uri", "/bookings/{bookingId}").counter().count());
+    }
+
+    @Test
+    void check_shouldThrowInFailMode() {
+        QueryBudget budget = new QueryBudget(QueryBudgetMode.FAIL, 20, ENDPOINTS, meterRegistry);
+
+        assertThrows(QueryBudgetExceededException.class,
+                () -> budget.check("GET", "/bookings/{bookingId}", threeStatements));
+    }
+
+    @Test
+    void check_shouldIgnoreBudgetsWhenOff() {
+        QueryBudget budget = new QueryBudget(QueryBudgetMode.OFF, 1, ENDPOINTS, meterRegistry);
+
+        assertTrue(budget.check("GET", "/bookings/{bookingId}", threeStatements));
+        assertTrue(meterRegistry.find(QueryBudget.EXCEEDED_METRIC).counters().isEmpty());
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class QueryMetricsFilterTest {
+    HibernateQueryCounter queryCounter;
+    SimpleMeterRegistry meterRegistry;
+    QueryMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        queryCounter = new HibernateQueryCounter();
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new QueryMetricsFilter(queryCounter,
+                new QueryBudget(QueryBudgetMode.OFF, 0, "", meterRegistry), meterRegistry);
+    }
+
+    @Test
+    void doFilter_shouldRecordStatementsAndEntityLoadsPerEndpoint() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/bookings/{bookingId}");
+            queryCounter.inspect("select * from bookings");
+            queryCounter.inspect("select * from items");
+            queryCounter.onLoad(new Object(), 1L, null, null, null);
+        });
+
+        assertEquals(2, summary(QueryMetricsFilter.STATEMENTS_METRIC).totalAmount());
+        assertEquals(1, summary(QueryMetricsFilter.ENTITY_LOADS_METRIC).totalAmount());
+    }
+
+    @Test
+    void inspect_shouldNotCountOutsideOfRequest() throws Exception {
+        queryCounter.inspect("select * from users");
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users"), new MockHttpServletResponse(),
+                (req, res) -> req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/users"));
+
+        DistributionSummary statements = meterRegistry.find(QueryMetricsFilter.STATEMENTS_METRIC)
+                .tags("uri", "/users").summary();
+        assertNotNull(statements);
+        assertEquals(0, statements.totalAmount());
+    }
+
+    private DistributionSummary summary(String name) {
+        DistributionSummary summary = meterRegistry.find(name)
+                .tags("method", "GET", "uri", "/bookings/{bookingId}")
+                .summary();
+        assertNotNull(summary);
+        assertEquals(1, summary.count());
+        return summary;
+    }
+}
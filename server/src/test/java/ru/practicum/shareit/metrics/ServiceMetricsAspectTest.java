@@ -0,0 +1,64 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.user.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+    @Mock
+    UserService userService;
+
+    SimpleMeterRegistry meterRegistry;
+    UserService timedUserService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(userService);
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        timedUserService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void time_shouldRecordServiceMethodCalls() {
+        when(userService.getAllUsers()).thenReturn(List.of());
+
+        timedUserService.getAllUsers();
+        timedUserService.getAllUsers();
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.TIMER_NAME)
+                .tags("service", "UserService", "method", "getAllUsers", "exception", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void time_shouldTagFailedCallsWithException() {
+        doThrow(new UserNotFoundException("Пользователь не найден")).when(userService).deleteUser(1);
+
+        assertThrows(UserNotFoundException.class, () -> timedUserService.deleteUser(1));
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.TIMER_NAME)
+                .tags("method", "deleteUser", "exception", "UserNotFoundException")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+}
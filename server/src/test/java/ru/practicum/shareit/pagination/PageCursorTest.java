@@ -0,0 +1,41 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.InvalidCursorException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+    @Test
+    void decode_shouldRestoreEncodedTimestampCursor() {
+        LocalDateTime start = LocalDateTime.of(2023, 5, 1, 10, 30, 15, 123456000);
+
+        PageCursor cursor = PageCursor.decode(PageCursor.of(start, 42).encode(), PageCursor.LATEST);
+
+        assertEquals(start, cursor.getTimestamp());
+        assertEquals(42, cursor.getId());
+    }
+
+    @Test
+    void decode_shouldRestoreEncodedIdAndRankCursors() {
+        assertEquals(PageCursor.of(15), PageCursor.decode(PageCursor.of(15).encode(), PageCursor.FIRST_ID));
+        assertEquals(2, PageCursor.decode(PageCursor.of(2, 15L).encode(), null).getRank());
+    }
+
+    @Test
+    void decode_shouldReturnDefaultForBlankToken() {
+        assertSame(PageCursor.LATEST, PageCursor.decode("", PageCursor.LATEST));
+        assertSame(PageCursor.FIRST_ID, PageCursor.decode(null, PageCursor.FIRST_ID));
+    }
+
+    @Test
+    void decode_invalidToken_fail() {
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode("!!!", PageCursor.LATEST));
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode(PageCursor.of(15).encode(),
+                PageCursor.LATEST).getTimestamp());
+    }
+}
@@ -7,8 +7,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -19,6 +22,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemRequestController.class)
@@ -84,12 +88,14 @@ public class ItemRequestControllerItTest {
     @SneakyThrows
     @Test
     void getRequestById() {
-        when(itemRequestService.getRequestById(itemRequestOut.getId(), userId)).thenReturn(itemRequestOut);
+        when(itemRequestService.getRequestById(itemRequestOut.getId(), userId))
+                .thenReturn(new Tagged<>(itemRequestOut, "\"request-1\""));
 
         mvc.perform(get(URL + "/" + userId)
                         .header("X-Sharer-User-Id", userId))
                 .andDo(print())
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"request-1\""))
                 .andExpect(content().json(mapper.writeValueAsString(itemRequestOut)));
 
         verify(itemRequestService).getRequestById(itemRequestOut.getId(), userId);
@@ -98,7 +104,7 @@ public class ItemRequestControllerItTest {
     @SneakyThrows
     @Test
     void getAllRequests() {
-        when(itemRequestService.getAllRequests(0, 20, userId)).thenReturn(List.of(itemRequestOut));
+        when(itemRequestService.getAllRequests(0, 20, userId, "")).thenReturn(CursorPage.of(List.of(itemRequestOut)));
 
         mvc.perform(get(URL + "/all")
                         .param("from", "0")
@@ -108,6 +114,6 @@ public class ItemRequestControllerItTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(mapper.writeValueAsString(List.of(itemRequestOut))));
 
-        verify(itemRequestService).getAllRequests(0, 20, userId);
+        verify(itemRequestService).getAllRequests(0, 20, userId, "");
     }
 }
@@ -6,6 +6,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
@@ -57,11 +60,13 @@ class ItemRequestControllerTest {
         ItemRequestDto expectedItemRequestDto = new ItemRequestDto();
         expectedItemRequestDto.setId(1);
         Mockito.when(itemRequestService.getRequestById(expectedItemRequestDto.getId(), userId))
-                .thenReturn(expectedItemRequestDto);
+                .thenReturn(new Tagged<>(expectedItemRequestDto, "\"request-1\""));
 
-        ItemRequestDto itemRequestDto = itemRequestController.getRequestById(expectedItemRequestDto.getId(), userId);
+        ResponseEntity<ItemRequestDto> response = itemRequestController.getRequestById(expectedItemRequestDto.getId(),
+                userId);
 
-        assertEquals(expectedItemRequestDto, itemRequestDto);
+        assertEquals(expectedItemRequestDto, response.getBody());
+        assertEquals("\"request-1\"", response.getHeaders().getETag());
         verify(itemRequestService, times(1))
                 .getRequestById(expectedItemRequestDto.getId(), userId);
     }
@@ -72,11 +77,13 @@ class ItemRequestControllerTest {
         long from = 0;
         long size = 20;
         List<ItemRequestDto> expectedRequests = List.of(new ItemRequestDto());
-        Mockito.when(itemRequestService.getAllRequests(from, size, userId)).thenReturn(List.of(new ItemRequestDto()));
+        Mockito.when(itemRequestService.getAllRequests(from, size, userId, ""))
+                .thenReturn(CursorPage.of(List.of(new ItemRequestDto())));
 
-        List<ItemRequestDto> itemRequestDtoList = itemRequestController.getAllRequests(userId, from, size);
+        List<ItemRequestDto> itemRequestDtoList = itemRequestController.getAllRequests(userId, from, size, "")
+                .getBody();
 
         assertEquals(expectedRequests, itemRequestDtoList);
-        verify(itemRequestService, times(1)).getAllRequests(from, size, userId);
+        verify(itemRequestService, times(1)).getAllRequests(from, size, userId, "");
     }
 }
\ No newline at end of file
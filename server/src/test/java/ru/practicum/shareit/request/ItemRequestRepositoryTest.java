@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
@@ -57,7 +58,7 @@ class ItemRequestRepositoryTest {
     @Test
     void findAllByItemsIds() {
         List<ItemRequest> result = itemRequestRepository.findByRequestorIdNot(Pageable.unpaged(),
-                user.getId()).toList();
+                user.getId(), PageCursor.MAX_TIMESTAMP, Long.MAX_VALUE);
 
         assertEquals(1, result.size());
         assertEquals(user2, result.get(0).getRequestor());
@@ -69,7 +70,7 @@ class ItemRequestRepositoryTest {
     void afterAll() {
         itemRequestRepository.deleteAll();
         userRepository.deleteAll();
-        jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN ID RESTART WITH 1;");
-        jdbcTemplate.execute("ALTER TABLE requests ALTER COLUMN ID RESTART WITH 1;");
+        jdbcTemplate.execute("ALTER SEQUENCE users_seq RESTART WITH 1;");
+        jdbcTemplate.execute("ALTER SEQUENCE requests_seq RESTART WITH 1;");
     }
 }
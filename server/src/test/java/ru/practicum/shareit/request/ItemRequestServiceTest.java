@@ -5,11 +5,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.*;
 import ru.practicum.shareit.exception.ItemRequestNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.*;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceIndex;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
@@ -26,6 +28,9 @@ public class ItemRequestServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceIndex userExistenceIndex;
+
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
@@ -47,7 +52,7 @@ public class ItemRequestServiceTest {
     ItemRequestDto itemRequestDto;
     ItemRequestDto itemRequestDtoExpected;
     List<ItemRequestDto> emptyItemRequestDtoList = new ArrayList<>();
-    PageRequest pageRequest = PageRequest.of(2, 5, Sort.by("created").descending());
+    OffsetPageRequest pageRequest = OffsetPageRequest.of(10, 5);
 
     @BeforeEach
     void setUp() {
@@ -91,7 +96,6 @@ public class ItemRequestServiceTest {
     @Test
     void getRequestsOfUser_shouldBeFound() {
         try (MockedStatic<ItemRequestMapper> mockStatic = mockStatic(ItemRequestMapper.class)) {
-            when(userRepository.findById(userId)).thenReturn(Optional.of(requestor));
             when(itemRequestRepository.findAllByRequestorId(userId)).thenReturn(List.of(itemRequest));
             mockStatic.when(() -> ItemRequestMapper.toItemRequestDtoList(List.of(itemRequest)))
                     .thenReturn(List.of(itemRequestDtoExpected));
@@ -102,28 +106,35 @@ public class ItemRequestServiceTest {
 
             assertEquals(List.of(itemRequestDtoExpected), itemRequestDtoActualList);
             verify(itemRequestRepository).findAllByRequestorId(userId);
-            verify(userRepository).findById(userId);
+            verify(userExistenceIndex).requireExists(userId);
             verify(itemRequestService).findAndAttachItemsToRequestDtos(List.of(itemRequestDtoExpected));
         }
     }
 
     @Test
     void getRequestsOfUser_NothingFound() {
-        when(userRepository.findById(userId)).thenReturn(Optional.of(requestor));
         when(itemRequestRepository.findAllByRequestorId(userId)).thenReturn(new ArrayList<>());
 
         List<ItemRequestDto> itemRequestDtoActualList = itemRequestService.getRequestsOfUser(userId);
 
         assertEquals(emptyItemRequestDtoList, itemRequestDtoActualList);
         verify(itemRequestRepository).findAllByRequestorId(userId);
-        verify(userRepository).findById(userId);
+        verify(userExistenceIndex).requireExists(userId);
+    }
+
+    @Test
+    void getRequestsOfUser_userNotFound_fail() {
+        doThrow(new UserNotFoundException("Пользователь не найден")).when(userExistenceIndex).requireExists(userId);
+
+        assertThrows(UserNotFoundException.class, () -> itemRequestService.getRequestsOfUser(userId));
+
+        verifyNoInteractions(itemRequestRepository);
     }
 
     @Test
     void getRequestById_shouldBeFound() {
         try (MockedStatic<ItemRequestMapper> mockStaticItemRequest = mockStatic(ItemRequestMapper.class);
              MockedStatic<ItemMapper> mockStaticItem = mockStatic(ItemMapper.class)) {
-            when(userRepository.findById(userId)).thenReturn(Optional.of(requestor));
             when(itemRequestRepository.findById(itemRequest.getId())).thenReturn(Optional.of(itemRequest));
             when(itemRepository.findAllByRequestId(itemRequest.getId())).thenReturn(List.of(item));
             mockStaticItemRequest.when(() -> ItemRequestMapper.toItemRequestDto(itemRequest))
@@ -131,56 +142,57 @@ public class ItemRequestServiceTest {
             mockStaticItem.when(() -> ItemMapper.toItemForItemRequestDtoList(List.of(item)))
                     .thenReturn(List.of(itemForItemRequestDtoExpected));
 
-            ItemRequestDto itemRequestDtoActual = itemRequestService.getRequestById(itemRequestId, userId);
+            ItemRequestDto itemRequestDtoActual = itemRequestService.getRequestById(itemRequestId, userId).getContent();
 
             assertEquals(itemRequestDtoExpected, itemRequestDtoActual);
             verify(itemRequestRepository).findById(itemRequestId);
-            verify(userRepository).findById(userId);
+            verify(userExistenceIndex).requireExists(userId);
         }
     }
 
     @Test
     void getRequestById_requestNotFound_fail() {
-        when(userRepository.findById(userId)).thenReturn(Optional.of(requestor));
         when(itemRequestRepository.findById(itemRequest.getId())).thenReturn(Optional.empty());
 
         assertThrows(ItemRequestNotFoundException.class, () -> itemRequestService.getRequestById(itemRequestId, userId));
 
         verify(itemRequestRepository).findById(itemRequestId);
-        verify(userRepository).findById(userId);
+        verify(userExistenceIndex).requireExists(userId);
     }
 
     @Test
     void getAllRequests_shouldBeFound() {
         try (MockedStatic<ItemRequestMapper> mockStatic = mockStatic(ItemRequestMapper.class)) {
-            when(userRepository.findById(userId)).thenReturn(Optional.of(requestor));
-            when(itemRequestRepository.findByRequestorIdNot(pageRequest, userId))
-                    .thenReturn(new PageImpl<>(List.of(itemRequest)));
+            when(itemRequestRepository.findByRequestorIdNot(pageRequest, userId, PageCursor.MAX_TIMESTAMP,
+                    Long.MAX_VALUE)).thenReturn(List.of(itemRequest));
             mockStatic.when(() -> ItemRequestMapper.toItemRequestDtoList(List.of(itemRequest)))
                     .thenReturn(List.of(itemRequestDtoExpected));
             doReturn(List.of(itemRequestDtoExpected)).when(itemRequestService)
                     .findAndAttachItemsToRequestDtos(List.of(itemRequestDtoExpected));
 
-            List<ItemRequestDto> itemRequestDtoActualList = itemRequestService.getAllRequests(10, 5, userId);
+            List<ItemRequestDto> itemRequestDtoActualList = itemRequestService.getAllRequests(10, 5, userId, "")
+                .getContent();
 
             assertEquals(List.of(itemRequestDtoExpected), itemRequestDtoActualList);
-            verify(itemRequestRepository).findByRequestorIdNot(pageRequest, userId);
-            verify(userRepository).findById(userId);
+            verify(itemRequestRepository).findByRequestorIdNot(pageRequest, userId, PageCursor.MAX_TIMESTAMP,
+                    Long.MAX_VALUE);
+            verify(userExistenceIndex).requireExists(userId);
             verify(itemRequestService).findAndAttachItemsToRequestDtos(List.of(itemRequestDtoExpected));
         }
     }
 
     @Test
     void getAllRequests_shouldNotBeFound_fail() {
-        when(userRepository.findById(userId)).thenReturn(Optional.of(requestor));
-        when(itemRequestRepository.findByRequestorIdNot(pageRequest, userId))
-                .thenReturn(new PageImpl<>(List.of()));
+        when(itemRequestRepository.findByRequestorIdNot(pageRequest, userId, PageCursor.MAX_TIMESTAMP,
+                Long.MAX_VALUE)).thenReturn(List.of());
 
-        List<ItemRequestDto> itemRequestDtoActualList = itemRequestService.getAllRequests(10, 5, userId);
+        List<ItemRequestDto> itemRequestDtoActualList = itemRequestService.getAllRequests(10, 5, userId, "")
+                .getContent();
 
         assertEquals(new ArrayList<ItemRequestDto>(), itemRequestDtoActualList);
-        verify(itemRequestRepository).findByRequestorIdNot(pageRequest, userId);
-        verify(userRepository).findById(userId);
+        verify(itemRequestRepository).findByRequestorIdNot(pageRequest, userId, PageCursor.MAX_TIMESTAMP,
+                Long.MAX_VALUE);
+        verify(userExistenceIndex).requireExists(userId);
     }
 
     @Test
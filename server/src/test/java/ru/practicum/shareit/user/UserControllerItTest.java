@@ -9,6 +9,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.etag.Tagged;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -69,7 +70,7 @@ public class UserControllerItTest {
     @SneakyThrows
     @Test
     void findById() {
-        when(userService.getUserById(userId)).thenReturn(userOut);
+        when(userService.getUserById(userId)).thenReturn(new Tagged<>(userOut, "\"user-1\""));
 
         mvc.perform(get(URL + "/{id}", userId))
                 .andDo(print())
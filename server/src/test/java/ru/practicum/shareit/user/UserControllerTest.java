@@ -6,6 +6,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.etag.Tagged;
 
 import java.util.List;
 
@@ -36,11 +38,12 @@ class UserControllerTest {
     void getUserById() {
         User expectedUser = new User();
         expectedUser.setId(1);
-        Mockito.when(userService.getUserById(1)).thenReturn(expectedUser);
+        Mockito.when(userService.getUserById(1)).thenReturn(new Tagged<>(expectedUser, "\"user-1\""));
 
-        User user = userController.getUserById(1);
+        ResponseEntity<User> response = userController.getUserById(1);
 
-        assertEquals(expectedUser, user);
+        assertEquals(expectedUser, response.getBody());
+        assertEquals("\"user-1\"", response.getHeaders().getETag());
         verify(userService, times(1)).getUserById(expectedUser.getId());
     }
 
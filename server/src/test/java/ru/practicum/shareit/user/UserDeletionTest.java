@@ -0,0 +1,74 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingIntervals;
+import ru.practicum.shareit.booking.ItemBookingSummary;
+import ru.practicum.shareit.booking.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.booking.ItemOccupancyIndex;
+import ru.practicum.shareit.cache.EntityCache;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemSearchIndex;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@Import({UserServiceImpl.class, ItemBookingSummaryService.class})
+class UserDeletionTest {
+    @Autowired
+    UserService userService;
+    @Autowired
+    ItemBookingSummaryService itemBookingSummaryService;
+    @Autowired
+    ItemBookingSummaryRepository itemBookingSummaryRepository;
+    @Autowired
+    TestEntityManager entityManager;
+    @MockBean
+    EntityCache entityCache;
+    @MockBean
+    UserExistenceIndex userExistenceIndex;
+    @MockBean
+    ItemSearchIndex itemSearchIndex;
+    @MockBean
+    ItemBookingIntervals itemBookingIntervals;
+    @MockBean
+    ItemOccupancyIndex itemOccupancyIndex;
+
+    @Test
+    void deleteUser_shouldRefreshSummariesOfItemsTheUserBooked() {
+        User owner = entityManager.persist(User.builder().name("owner").email("owner@mail.com").build());
+        User booker = entityManager.persist(User.builder().name("booker").email("booker@mail.com").build());
+        Item item = entityManager.persist(Item.builder().name("item").description("description").available(true)
+                .owner(owner).build());
+        entityManager.persist(Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED)
+                .start(LocalDateTime.now().minusDays(2)).end(LocalDateTime.now().minusDays(1)).build());
+        entityManager.persist(Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED)
+                .start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2)).build());
+        entityManager.flush();
+        itemBookingSummaryService.onBookingsDeleted(List.of(item.getId()));
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(2, itemBookingSummaryRepository.findById(item.getId()).orElseThrow().getBookingsCount());
+
+        userService.deleteUser(booker.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemBookingSummary summary = itemBookingSummaryRepository.findById(item.getId()).orElseThrow();
+        assertNull(summary.getLastBookingId());
+        assertNull(summary.getNextBookingId());
+        assertEquals(0, summary.getBookingsCount());
+        assertEquals(List.of(), itemBookingSummaryService.findNearestBookings(List.of(item.getId())));
+    }
+}
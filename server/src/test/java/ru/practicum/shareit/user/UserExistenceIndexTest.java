@@ -0,0 +1,119 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.exception.UserNotFoundException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceIndexTest {
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserRemovalRepository userRemovalRepository;
+
+    @InjectMocks
+    private UserExistenceIndex userExistenceIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 3L, 100_000L));
+        userExistenceIndex.rebuild();
+    }
+
+    @Test
+    void exists_shouldAnswerFromBitmapWithoutDatabase() {
+        assertTrue(userExistenceIndex.exists(1));
+        assertTrue(userExistenceIndex.exists(3));
+        assertTrue(userExistenceIndex.exists(100_000));
+
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void exists_shouldFallBackToDatabaseAndRememberUser() {
+        when(userRepository.existsById(2L)).thenReturn(true);
+
+        assertTrue(userExistenceIndex.exists(2));
+        assertTrue(userExistenceIndex.exists(2));
+
+        verify(userRepository, times(1)).existsById(2L);
+    }
+
+    @Test
+    void requireExists_shouldThrowWhenUserNotFound() {
+        when(userRepository.existsById(5L)).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class, () -> userExistenceIndex.requireExists(5));
+    }
+
+    @Test
+    void remove_shouldClearUser() {
+        userExistenceIndex.remove(3);
+        when(userRepository.existsById(3L)).thenReturn(false);
+
+        assertFalse(userExistenceIndex.exists(3));
+        assertTrue(userExistenceIndex.exists(1));
+    }
+
+    @Test
+    void exists_shouldNotRememberUserRemovedWhileCheckingDatabase() {
+        when(userRepository.existsById(2L)).thenAnswer(invocation -> {
+            userExistenceIndex.remove(2);
+            return true;
+        }).thenReturn(false);
+
+        assertTrue(userExistenceIndex.exists(2));
+        assertFalse(userExistenceIndex.exists(2));
+    }
+
+    @Test
+    void resync_shouldDropUsersDeletedElsewhere() {
+        when(userRemovalRepository.findUsersIdsRemovedAfter(any(LocalDateTime.class))).thenReturn(List.of(3L));
+        when(userRepository.existsById(3L)).thenReturn(false);
+
+        userExistenceIndex.resync();
+
+        assertTrue(userExistenceIndex.exists(1));
+        assertFalse(userExistenceIndex.exists(3));
+        verify(userRemovalRepository).deleteAllRemovedBefore(any(LocalDateTime.class));
+    }
+
+    @Test
+    void resync_shouldReadOnlyUsersCreatedSinceLastSync() {
+        when(userRepository.findIdsAfter(eq(100_000L), any(Pageable.class))).thenReturn(List.of(100_050L));
+
+        userExistenceIndex.resync();
+
+        assertTrue(userExistenceIndex.exists(100_050));
+        verify(userRepository, never()).existsById(anyLong());
+        verify(userRepository).findIdsAfter(eq(100_050L), any(Pageable.class));
+    }
+
+    @Test
+    void remove_shouldLogRemovalForOtherInstances() {
+        userExistenceIndex.remove(3);
+
+        verify(userRemovalRepository).save(argThat(removal -> removal.getUserId() == 3));
+    }
+
+    @Test
+    void add_shouldGrowBitmapForLargeIds() {
+        userExistenceIndex.add(10_000_000);
+
+        assertTrue(userExistenceIndex.exists(10_000_000));
+        assertTrue(userExistenceIndex.exists(100_000));
+        verify(userRepository, never()).existsById(anyLong());
+    }
+}
@@ -3,10 +3,16 @@ package ru.practicum.shareit.user;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.ItemBookingIntervals;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.booking.ItemOccupancyIndex;
+import ru.practicum.shareit.cache.EntityCache;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.ItemSearchIndex;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +26,24 @@ public class UserServiceTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    EntityCache entityCache;
+
+    @Mock
+    UserExistenceIndex userExistenceIndex;
+
+    @Mock
+    ItemSearchIndex itemSearchIndex;
+
+    @Mock
+    ItemBookingIntervals itemBookingIntervals;
+
+    @Mock
+    ItemOccupancyIndex itemOccupancyIndex;
+
+    @Mock
+    ItemBookingSummaryService itemBookingSummaryService;
+
     @InjectMocks
     UserServiceImpl userService;
 
@@ -55,7 +79,7 @@ public class UserServiceTest {
     void getUserById_shouldBeFound() {
         when(userRepository.findById(userId)).thenReturn(Optional.of(userOut));
 
-        User user = userService.getUserById(userId);
+        User user = userService.getUserById(userId).getContent();
 
         assertEquals(userOut, user);
         verify(userRepository).findById(userId);
@@ -78,6 +102,7 @@ public class UserServiceTest {
 
         assertEquals(userOut, user);
         verify(userRepository).save(userIn);
+        verify(userExistenceIndex).add(userOut.getId());
     }
 
     @Test
@@ -95,10 +120,20 @@ public class UserServiceTest {
     @Test
     void deleteUser_shouldDelete() {
         when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemBookingSummaryService.findItemsIdsBookedBy(userId)).thenReturn(List.of(5L, 6L));
 
         userService.deleteUser(userId);
 
-        verify(userRepository).deleteById(userId);
+        InOrder inOrder = inOrder(itemBookingSummaryService, userRepository);
+        inOrder.verify(itemBookingSummaryService).findItemsIdsBookedBy(userId);
+        inOrder.verify(userRepository).deleteById(userId);
+        inOrder.verify(userRepository).flush();
+        inOrder.verify(itemBookingSummaryService).onBookingsDeleted(List.of(5L, 6L));
+        verify(entityCache).evictAllItems();
+        verify(userExistenceIndex).remove(userId);
+        verify(itemSearchIndex).removeByOwner(userId);
+        verify(itemBookingIntervals).evictAllAfterCommit();
+        verify(itemOccupancyIndex).evictAllAfterCommit();
     }
 
     @Test